@@ -0,0 +1,149 @@
+package io.xpay.sdk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xpay.sdk.model.request.PayoutRequest;
+import io.xpay.sdk.util.SignatureUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Realistic payloads shared by the benchmarks
+ */
+final class Fixtures {
+    static final String API_KEY = "benchmark-api-key";
+    static final String API_SECRET = "benchmark-api-secret";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Payout request as sent by createPayout
+     */
+    static PayoutRequest payoutRequest() {
+        return PayoutRequest.builder()
+                .amount(100.0)
+                .symbol("USDT")
+                .chain("TRON")
+                .orderId("order-1753451591786")
+                .uid("user123")
+                .receiveAddress("TXmVthgn6yT1kANGJHTHcbEGEKYDLLGJGp")
+                .build();
+    }
+
+    /**
+     * Signature parameters for a payout request
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> smallParams() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", objectMapper.convertValue(payoutRequest(), Map.class));
+        params.put("nonce", "puy6sxk5jwoyyeafi0hi7i");
+        params.put("timestamp", 1753451591L);
+        return params;
+    }
+
+    /**
+     * Signature parameters with several levels of nested maps and lists
+     */
+    static Map<String, Object> nestedParams(int depth, int width) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", nestedMap(depth, width));
+        params.put("nonce", "puy6sxk5jwoyyeafi0hi7i");
+        params.put("notifyType", "ORDER_SUCCESS");
+        params.put("timestamp", 1753451591L);
+        return params;
+    }
+
+    private static Map<String, Object> nestedMap(int depth, int width) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < width; i++) {
+            map.put("field" + i, "value-" + i);
+            map.put("amount" + i, 1.5 * i);
+            map.put("count" + i, 1000L + i);
+        }
+        if (depth > 0) {
+            map.put("child", nestedMap(depth - 1, width));
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                items.add(nestedMap(depth - 1, Math.max(1, width / 2)));
+            }
+            map.put("items", items);
+        }
+        return map;
+    }
+
+    /**
+     * Build a signed webhook callback body as X-Pay would deliver it
+     * @param notifyType - ORDER_* or COLLECT_* notification type
+     * @param timestamp - Callback timestamp in seconds
+     * @return Body, signature and timestamp header values
+     */
+    static String[] webhook(String notifyType, long timestamp) {
+        return webhook(notifyType, timestamp, "20240101111111011");
+    }
+
+    /**
+     * Build a signed webhook callback body for a given order
+     * @param notifyType - ORDER_* or COLLECT_* notification type
+     * @param timestamp - Callback timestamp in seconds
+     * @param orderId - Order ID of ORDER_* callbacks
+     * @return Body, signature and timestamp header values
+     */
+    static String[] webhook(String notifyType, long timestamp, String orderId) {
+        try {
+            Map<String, Object> transaction = new LinkedHashMap<>();
+            transaction.put("chain", "TRON");
+            transaction.put("symbol", "USDT");
+            transaction.put("blockNum", 73971843L);
+            transaction.put("txid", "938d4d20f049bfe45f429f1c3cb62de7c57d3f7505ae691b79aa9a024f23ef87");
+            transaction.put("contractAddress", "TR7NHqjeKQxGTCi8q8ZY4pL8otSzgjLj6t");
+            transaction.put("from", "TGyjjt1esfqJWrPncpygq3QA43epY46V8D");
+            transaction.put("to", "TW8ArYLg5PuwYugmYM8QSux5oXxfUbXA8c");
+            transaction.put("amount", 1.5);
+            transaction.put("timestamp", 1752573867000L);
+            transaction.put("txGas", 27.35985);
+            transaction.put("confirmedNum", 196573);
+            transaction.put("status", "SUCCESS");
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            if (notifyType.startsWith("COLLECT_")) {
+                data.put("collectAmount", 1.5);
+                data.put("fee", 0.015);
+                data.put("feeRatio", 0.01);
+                data.put("reason", null);
+            } else {
+                data.put("orderId", orderId);
+                data.put("orderType", "COLLECTION");
+                data.put("reason", null);
+                data.put("status", notifyType.substring("ORDER_".length()));
+            }
+            data.put("transaction", transaction);
+
+            // Sign the data exactly as it will be read back from the JSON body
+            String nonce = UUID.randomUUID().toString().replace("-", "");
+            Map<String, Object> params = new HashMap<>();
+            params.put("data", objectMapper.readValue(objectMapper.writeValueAsString(data), Map.class));
+            params.put("nonce", nonce);
+            params.put("notifyType", notifyType);
+            params.put("timestamp", timestamp);
+            String sign = SignatureUtil.generateSignature(params, API_SECRET);
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("sign", sign);
+            body.put("timestamp", timestamp);
+            body.put("nonce", nonce);
+            body.put("notifyType", notifyType);
+            body.put("data", data);
+            return new String[]{objectMapper.writeValueAsString(body), sign, String.valueOf(timestamp)};
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
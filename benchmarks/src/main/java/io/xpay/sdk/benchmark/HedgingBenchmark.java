@@ -0,0 +1,93 @@
+package io.xpay.sdk.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.XPayConfig;
+import io.xpay.sdk.client.HedgePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of getOrderStatus with and without hedging, against a local stub where
+ * most requests take a couple of milliseconds and a few stall
+ *
+ * Run in sample mode, so JMH reports p50, p99 and p99.9: hedging should leave the median alone
+ * and cut the tail to roughly the hedge delay plus a normal response.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HedgingBenchmark {
+    private static final long FAST_MILLIS = 2;
+    private static final long SLOW_MILLIS = 100;
+    private static final double SLOW_RATE = 0.03;
+    private static final byte[] ORDER_STATUS = ("{\"code\":0,\"msg\":\"success\",\"data\":{\"orderId\":\"order-1\","
+            + "\"orderType\":\"PAYOUT\",\"status\":\"SUCCESS\"}}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    public boolean hedged;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private XPay xpay;
+
+    @Setup
+    public void setup() throws Exception {
+        // Without TCP_NODELAY the stub's separate header and body writes add a delayed-ACK stall
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            boolean slow = ThreadLocalRandom.current().nextDouble() < SLOW_RATE;
+            try {
+                Thread.sleep(slow ? SLOW_MILLIS : FAST_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ORDER_STATUS.length);
+            exchange.getResponseBody().write(ORDER_STATUS);
+            exchange.close();
+        });
+        server.start();
+
+        xpay = new XPay(XPayConfig.builder()
+                .apiKey(Fixtures.API_KEY)
+                .apiSecret(Fixtures.API_SECRET)
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .hedgePolicy(hedged ? HedgePolicy.builder().build() : null)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object orderStatus() throws Exception {
+        return xpay.getOrderStatus("order-1");
+    }
+}
@@ -0,0 +1,95 @@
+package io.xpay.sdk.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.XPayConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async fan-out of order status checks against a local stub with fixed latency
+ *
+ * The score is completed calls per second; it is bounded by maxRequestsPerHost / latency, so it
+ * shows how far raising the dispatcher limit (OkHttp's default is 5 per host) lifts the ceiling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpClientBenchmark {
+    private static final int FAN_OUT = 200;
+    private static final long LATENCY_MILLIS = 10;
+    private static final byte[] ORDER_STATUS = ("{\"code\":0,\"msg\":\"success\",\"data\":{\"orderId\":\"order-1\","
+            + "\"orderType\":\"PAYOUT\",\"status\":\"SUCCESS\"}}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"5", "64", "256"})
+    public int maxRequestsPerHost;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private XPay xpay;
+
+    @Setup
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        serverExecutor = Executors.newFixedThreadPool(512);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ORDER_STATUS.length);
+            exchange.getResponseBody().write(ORDER_STATUS);
+            exchange.close();
+        });
+        server.start();
+
+        xpay = new XPay(XPayConfig.builder()
+                .apiKey(Fixtures.API_KEY)
+                .apiSecret(Fixtures.API_SECRET)
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .maxRequests(maxRequestsPerHost)
+                .maxRequestsPerHost(maxRequestsPerHost)
+                .maxIdleConnections(maxRequestsPerHost)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public void orderStatusFanOut() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[FAN_OUT];
+        for (int i = 0; i < FAN_OUT; i++) {
+            futures[i] = xpay.getOrderStatusAsync("order-" + i);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
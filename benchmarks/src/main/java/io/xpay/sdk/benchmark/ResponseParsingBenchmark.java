@@ -0,0 +1,78 @@
+package io.xpay.sdk.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xpay.sdk.model.response.ApiResponse;
+import io.xpay.sdk.model.response.SupportedSymbol;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a getSupportedSymbols response: decoding the body to a String first (the
+ * previous ApiClient behaviour) against parsing the body byte stream directly
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final TypeReference<ApiResponse<List<SupportedSymbol>>> TYPE =
+            new TypeReference<ApiResponse<List<SupportedSymbol>>>() {};
+
+    @Param({"10", "500"})
+    public int symbols;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        // Same configuration as ApiClient
+        objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        StringBuilder json = new StringBuilder("{\"code\":0,\"msg\":\"success\",\"data\":[");
+        for (int i = 0; i < symbols; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"symbol\":\"TOKEN").append(i).append("\",\"chain\":\"TRON\",\"decimals\":6,")
+                    .append("\"contractAddress\":\"TR7NHqjeKQxGTCi8q8ZY4pL8otSzgjLj6t\",")
+                    .append("\"minAmount\":1.5,\"maxAmount\":100000.0}");
+        }
+        body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ApiResponse<List<SupportedSymbol>> viaString() throws Exception {
+        try (ResponseBody responseBody = ResponseBody.create(body, JSON)) {
+            return objectMapper.readValue(responseBody.string(), TYPE);
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<List<SupportedSymbol>> viaStream() throws Exception {
+        try (ResponseBody responseBody = ResponseBody.create(body, JSON)) {
+            return objectMapper.readValue(responseBody.byteStream(), TYPE);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.xpay.sdk.benchmark;
+
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.xpay.sdk.client.JsonRequestBody;
+import io.xpay.sdk.model.request.SignedRequest;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a signed payout request and writing it to the connection sink: the
+ * original String-based body against {@link JsonRequestBody} with a cached ObjectWriter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private SignedRequest signedRequest;
+    private Buffer sink;
+
+    @Setup
+    public void setup() {
+        // Same configuration as ApiClient
+        objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        writer = objectMapper.writerFor(SignedRequest.class)
+                .with(JsonWriteFeature.COMBINE_UNICODE_SURROGATES_IN_UTF8);
+        sink = new Buffer();
+
+        signedRequest = SignedRequest.builder()
+                .sign("4a8be55604cd5d7cd3df5ad8f5b1c92c067808b1cbb8173266aef9e362afab4c")
+                .timestamp(1753451591L)
+                .nonce("puy6sxk5jwoyyeafi0hi7i")
+                .data(Fixtures.payoutRequest())
+                .build();
+    }
+
+    @Benchmark
+    public long signedRequestBody() throws Exception {
+        String jsonBody = objectMapper.writeValueAsString(signedRequest);
+        RequestBody body = RequestBody.create(jsonBody, JSON);
+        return writeAndClear(body);
+    }
+
+    @Benchmark
+    public long jsonRequestBody() throws Exception {
+        return writeAndClear(JsonRequestBody.create(writer, signedRequest));
+    }
+
+    private long writeAndClear(RequestBody body) throws Exception {
+        body.writeTo(sink);
+        long size = sink.size();
+        sink.clear();
+        return size;
+    }
+}
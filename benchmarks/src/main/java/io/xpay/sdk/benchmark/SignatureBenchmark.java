@@ -0,0 +1,87 @@
+package io.xpay.sdk.benchmark;
+
+import io.xpay.sdk.model.request.PayoutRequest;
+import io.xpay.sdk.util.HmacSigner;
+import io.xpay.sdk.util.SignatureUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request signing: per-call keyed Mac versus the cached HmacSigner, on small and deeply nested payloads
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureBenchmark {
+    private Map<String, Object> small;
+    private Map<String, Object> nested;
+    private PayoutRequest payoutRequest;
+    private HmacSigner signer;
+
+    @Setup
+    public void setup() {
+        small = Fixtures.smallParams();
+        nested = Fixtures.nestedParams(4, 4);
+        payoutRequest = Fixtures.payoutRequest();
+        signer = new HmacSigner(Fixtures.API_SECRET);
+    }
+
+    @Benchmark
+    public String smallWithSecret() {
+        return SignatureUtil.generateSignature(small, Fixtures.API_SECRET);
+    }
+
+    @Benchmark
+    public String smallWithSigner() {
+        return SignatureUtil.generateSignature(small, signer);
+    }
+
+    @Benchmark
+    public String nestedWithSecret() {
+        return SignatureUtil.generateSignature(nested, Fixtures.API_SECRET);
+    }
+
+    @Benchmark
+    public String nestedWithSigner() {
+        return SignatureUtil.generateSignature(nested, signer);
+    }
+
+    /**
+     * Payout signing as XPay did it before bean layouts: convertValue to a Map first
+     */
+    @Benchmark
+    public String payoutViaMap() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", SignatureUtil.convertDataToMap(payoutRequest));
+        params.put("nonce", "puy6sxk5jwoyyeafi0hi7i");
+        params.put("timestamp", 1753451591L);
+        return SignatureUtil.generateSignature(params, signer);
+    }
+
+    /**
+     * Payout signing as XPay does it now: properties written from the cached bean layout
+     */
+    @Benchmark
+    public String payoutViaBean() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", SignatureUtil.prepareSignatureData(payoutRequest));
+        params.put("nonce", "puy6sxk5jwoyyeafi0hi7i");
+        params.put("timestamp", 1753451591L);
+        return SignatureUtil.generateSignature(params, signer);
+    }
+}
@@ -0,0 +1,75 @@
+package io.xpay.sdk.benchmark;
+
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.XPayConfig;
+import io.xpay.sdk.model.webhook.WebhookEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Webhook verification and parsing on realistic ORDER_* and COLLECT_* callbacks
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebhookBenchmark {
+    @Param({"ORDER_SUCCESS", "ORDER_PENDING", "COLLECT_SUCCESS"})
+    private String notifyType;
+
+    private XPay xpay;
+    private String body;
+    private byte[] bodyBytes;
+    private String signature;
+    private String timestamp;
+
+    @Setup(Level.Trial)
+    public void setupClient() {
+        xpay = new XPay(XPayConfig.builder()
+                .apiKey(Fixtures.API_KEY)
+                .apiSecret(Fixtures.API_SECRET)
+                .build());
+    }
+
+    /**
+     * Re-sign each iteration so the callback stays inside the 30 second freshness window
+     */
+    @Setup(Level.Iteration)
+    public void setupCallback() {
+        String[] webhook = Fixtures.webhook(notifyType, System.currentTimeMillis() / 1000);
+        body = webhook[0];
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        signature = webhook[1];
+        timestamp = webhook[2];
+    }
+
+    @Benchmark
+    public boolean verifyWebhook() {
+        return xpay.verifyWebhook(body, signature, timestamp);
+    }
+
+    @Benchmark
+    public WebhookEvent parseWebhook() {
+        return xpay.parseWebhook(body, signature, timestamp);
+    }
+
+    @Benchmark
+    public WebhookEvent parseWebhookBytes() {
+        return xpay.parseWebhook(bodyBytes, signature, timestamp);
+    }
+}
@@ -0,0 +1,164 @@
+package io.xpay.sdk.benchmark;
+
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.model.webhook.WebhookEvent;
+import io.xpay.sdk.spring.XPayWebhookReceivedEvent;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP load test of the asynchronous webhook endpoint against a blocking controller
+ *
+ * Starts one Spring Boot application (embedded Tomcat, default thread pool) exposing both the
+ * auto-configured endpoint at /xpay/webhook and a conventional {@code @RestController} that verifies
+ * and handles the callback inline at /blocking/webhook. Each handler simulates a few milliseconds
+ * of work (e.g. a database write). Every phase drives one endpoint with a fixed number of
+ * concurrent clients and reports acknowledged callbacks per second and response latency.
+ *
+ * Usage: {@code java -cp benchmarks.jar io.xpay.sdk.benchmark.WebhookLoadTest [clients] [seconds] [workMillis]}
+ */
+@SpringBootApplication
+public class WebhookLoadTest {
+    private static final AtomicLong handled = new AtomicLong();
+    private static volatile long workMillis;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        workMillis = args.length > 2 ? Long.parseLong(args[2]) : 5;
+
+        SpringApplication application = new SpringApplication(WebhookLoadTest.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "xpay.api-secret", Fixtures.API_SECRET,
+                "xpay.webhook.lanes", "512",
+                "xpay.webhook.queue-capacity", "100000",
+                "logging.level.root", "WARN"));
+        try (ConfigurableApplicationContext context = application.run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("clients=%d seconds=%d workMillis=%d%n", clients, seconds, workMillis);
+            for (String path : new String[]{"/blocking/webhook", "/xpay/webhook", "/blocking/webhook", "/xpay/webhook"}) {
+                run(URI.create("http://localhost:" + port + path), clients, seconds);
+            }
+        }
+    }
+
+    private static void run(URI uri, int clients, int seconds) throws Exception {
+        ExecutorService io = Executors.newFixedThreadPool(8);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(io)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long handledBefore = handled.get();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            results.add(workers.submit(() -> {
+                long[] latencies = new long[1 << 16];
+                int count = 0;
+                long errors = 0;
+                for (int i = 0; System.nanoTime() < deadline; i++) {
+                    String body = Fixtures.webhook("ORDER_SUCCESS", System.currentTimeMillis() / 1000,
+                            "order-" + clientId + "-" + i)[0];
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    long start = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    long elapsed = System.nanoTime() - start;
+                    if (status != 200) {
+                        errors++;
+                    } else if (count < latencies.length) {
+                        latencies[count++] = elapsed;
+                    }
+                }
+                long[] result = Arrays.copyOf(latencies, count + 1);
+                result[count] = errors;
+                return result;
+            }));
+        }
+        List<Long> all = new ArrayList<>();
+        long errors = 0;
+        for (Future<long[]> result : results) {
+            long[] values = result.get();
+            for (int i = 0; i < values.length - 1; i++) {
+                all.add(values[i]);
+            }
+            errors += values[values.length - 1];
+        }
+        workers.shutdown();
+        io.shutdown();
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-18s %8.0f acks/s  p50 %6.2f ms  p99 %7.2f ms  non-200 %d  handled %d%n",
+                uri.getPath(), sorted.length / (double) seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), errors, handled.get() - handledBefore);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, sorted.length * p)] / 1e6;
+    }
+
+    private static void handle(WebhookEvent event) throws InterruptedException {
+        Thread.sleep(workMillis);
+        handled.incrementAndGet();
+    }
+
+    /**
+     * Conventional controller: verify and handle on the request thread
+     */
+    @RestController
+    static class BlockingController {
+        private final XPay xpay;
+
+        BlockingController(XPay xpay) {
+            this.xpay = xpay;
+        }
+
+        @PostMapping("/blocking/webhook")
+        public ResponseEntity<Void> webhook(@RequestBody byte[] body) throws InterruptedException {
+            WebhookEvent event = xpay.parseWebhook(body);
+            if (event == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            handle(event);
+            return ResponseEntity.ok().build();
+        }
+    }
+
+    /**
+     * Listener for the asynchronous endpoint
+     */
+    @Component
+    static class AsyncListener {
+        @EventListener
+        public void onWebhook(XPayWebhookReceivedEvent<?> event) throws InterruptedException {
+            handle(event.getEvent());
+        }
+    }
+}
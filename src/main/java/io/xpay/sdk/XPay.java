@@ -2,9 +2,16 @@ package io.xpay.sdk;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import io.xpay.sdk.client.ApiClient;
+import io.xpay.sdk.client.ApiEndpoint;
+import io.xpay.sdk.client.RequestValidator;
+import io.xpay.sdk.client.SymbolCatalog;
 import io.xpay.sdk.exception.XPayApiException;
+import io.xpay.sdk.exception.XPayValidationException;
+import io.xpay.sdk.model.WebhookNotifyType;
 import io.xpay.sdk.model.request.CollectionRequest;
 import io.xpay.sdk.model.request.PayoutRequest;
 import io.xpay.sdk.model.request.SignedRequest;
@@ -16,12 +23,30 @@ import io.xpay.sdk.model.response.SupportedSymbol;
 import io.xpay.sdk.model.webhook.CollectWebhookData;
 import io.xpay.sdk.model.webhook.OrderWebhookData;
 import io.xpay.sdk.model.webhook.WebhookEvent;
+import io.xpay.sdk.util.HmacSigner;
+import io.xpay.sdk.webhook.WebhookDelivery;
+import io.xpay.sdk.webhook.WebhookReplayGuard;
+import io.xpay.sdk.webhook.WebhookResult;
+import io.xpay.sdk.webhook.WebhookVerificationStatus;
 import io.xpay.sdk.util.SignatureUtil;
+import io.xpay.sdk.webhook.OrderStateStore;
+import org.springframework.http.HttpEntity;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * X-Pay SDK for Java
@@ -29,10 +54,24 @@ import java.util.UUID;
  * Official SDK for integrating with the X-Pay cryptocurrency payment gateway
  */
 public class XPay {
+    /**
+     * Maximum allowed difference between the webhook timestamp and local time, in seconds
+     */
+    private static final long WEBHOOK_TOLERANCE_SECONDS = 30;
+
+    /**
+     * Deliveries verified per task by parseWebhooks
+     */
+    private static final int WEBHOOK_BATCH_CHUNK = 64;
+
     private final XPayConfig config;
     private final ApiClient apiClient;
-    private final String apiSecret;
+    private final HmacSigner signer;
     private final ObjectMapper objectMapper;
+    private final WebhookReplayGuard replayGuard;
+    private final SymbolCatalog symbolCatalog;
+    private final RequestValidator requestValidator;
+    private final OrderStateStore orderStateStore;
 
     /**
      * Create a new XPay SDK instance
@@ -40,8 +79,21 @@ public class XPay {
      */
     public XPay(XPayConfig config) {
         this.config = config;
-        this.apiSecret = config.getApiSecret();
+        this.signer = config.getApiSecret() != null ? new HmacSigner(config.getApiSecret()) : null;
         this.apiClient = new ApiClient(config);
+        this.symbolCatalog = config.getSymbolCatalogTtl() > 0
+                ? new SymbolCatalog(apiClient, config.getSymbolCatalogTtl())
+                : null;
+        if (config.isRequestValidation() && symbolCatalog == null) {
+            throw new IllegalArgumentException("requestValidation requires symbolCatalogTtl");
+        }
+        this.requestValidator = config.isRequestValidation() ? new RequestValidator(symbolCatalog) : null;
+        this.orderStateStore = config.getOrderStateCapacity() > 0
+                ? new OrderStateStore(config.getOrderStateCapacity(), config.getOrderStateMaxAge())
+                : null;
+        this.replayGuard = config.isWebhookReplayProtection()
+                ? new WebhookReplayGuard(config.getWebhookReplayCapacity(), WEBHOOK_TOLERANCE_SECONDS)
+                : null;
         
         // Configure ObjectMapper to be more lenient with unknown properties
         this.objectMapper = new ObjectMapper();
@@ -52,35 +104,110 @@ public class XPay {
      * Create a new payout order
      * @param request - Payout request data
      * @return Payout response with order details
+     * @throws XPayValidationException if request validation is on and the request fails it
      * @throws XPayApiException if the API returns an error
      * @throws Exception if there is a network or parsing error
      */
     public ApiResponse<PayoutData> createPayout(PayoutRequest request) throws Exception {
-        SignedRequest signedRequest = generateSignature(request);
-        return apiClient.post("/v1/order/createPayout", signedRequest, new TypeReference<ApiResponse<PayoutData>>() {});
+        if (requestValidator != null) {
+            requestValidator.validate(request.getChain(), request.getSymbol(), request.getAmount());
+        }
+        return apiClient.post(ApiEndpoint.CREATE_PAYOUT, ApiEndpoint.CREATE_PAYOUT.getPath(),
+                () -> generateSignature(request), hasOrderId(request.getOrderId()),
+                new TypeReference<ApiResponse<PayoutData>>() {});
+    }
+
+    /**
+     * Create a new payout order without blocking the calling thread
+     * @param request - Payout request data
+     * @return Future of the payout response; completes exceptionally with XPayApiException if the API returns an error
+     */
+    public CompletableFuture<ApiResponse<PayoutData>> createPayoutAsync(PayoutRequest request) {
+        return afterValidation(request.getChain(), request.getSymbol(), request.getAmount(),
+                () -> apiClient.postAsync(ApiEndpoint.CREATE_PAYOUT, ApiEndpoint.CREATE_PAYOUT.getPath(),
+                        () -> generateSignature(request), hasOrderId(request.getOrderId()),
+                        new TypeReference<ApiResponse<PayoutData>>() {}));
     }
 
     /**
      * Create a new collection order
      * @param request - Collection request data
      * @return Collection response with order details
+     * @throws XPayValidationException if request validation is on and the request fails it
      * @throws XPayApiException if the API returns an error
      * @throws Exception if there is a network or parsing error
      */
     public ApiResponse<CollectionData> createCollection(CollectionRequest request) throws Exception {
-        SignedRequest signedRequest = generateSignature(request);
-        return apiClient.post("/v1/order/createCollection", signedRequest, new TypeReference<ApiResponse<CollectionData>>() {});
+        if (requestValidator != null) {
+            requestValidator.validate(request.getChain(), request.getSymbol(), request.getAmount());
+        }
+        return apiClient.post(ApiEndpoint.CREATE_COLLECTION, ApiEndpoint.CREATE_COLLECTION.getPath(),
+                () -> generateSignature(request), hasOrderId(request.getOrderId()),
+                new TypeReference<ApiResponse<CollectionData>>() {});
     }
 
     /**
-     * Get order status by ID
+     * Create a new collection order without blocking the calling thread
+     * @param request - Collection request data
+     * @return Future of the collection response; completes exceptionally with XPayApiException if the API returns an error
+     */
+    public CompletableFuture<ApiResponse<CollectionData>> createCollectionAsync(CollectionRequest request) {
+        return afterValidation(request.getChain(), request.getSymbol(), request.getAmount(),
+                () -> apiClient.postAsync(ApiEndpoint.CREATE_COLLECTION, ApiEndpoint.CREATE_COLLECTION.getPath(),
+                        () -> generateSignature(request), hasOrderId(request.getOrderId()),
+                        new TypeReference<ApiResponse<CollectionData>>() {}));
+    }
+
+    /**
+     * Get order status by ID; answered from the order state store, when one is configured, if the
+     * order is final or was updated recently
      * @param orderId - Order ID
      * @return Order details information
      * @throws XPayApiException if the API returns an error
      * @throws Exception if there is a network or parsing error
      */
     public ApiResponse<OrderDetails> getOrderStatus(String orderId) throws Exception {
-        return apiClient.get("/v1/order/status/" + orderId, null, new TypeReference<ApiResponse<OrderDetails>>() {});
+        if (orderStateStore == null) {
+            return apiClient.get(ApiEndpoint.ORDER_STATUS, ApiEndpoint.ORDER_STATUS.getPath() + orderId, null,
+                    new TypeReference<ApiResponse<OrderDetails>>() {});
+        }
+        ApiResponse<OrderDetails> stored = orderStateStore.lookup(orderId);
+        if (stored != null) {
+            return stored;
+        }
+        ApiResponse<OrderDetails> response = apiClient.get(ApiEndpoint.ORDER_STATUS,
+                ApiEndpoint.ORDER_STATUS.getPath() + orderId, null, new TypeReference<ApiResponse<OrderDetails>>() {});
+        orderStateStore.update(response);
+        return response;
+    }
+
+    /**
+     * Get order status by ID without blocking the calling thread; suited to checking many orders at once.
+     * Answered from the order state store, when one is configured, if the order is final or was updated recently.
+     * @param orderId - Order ID
+     * @return Future of the order details; completes exceptionally with XPayApiException if the API returns an error
+     */
+    public CompletableFuture<ApiResponse<OrderDetails>> getOrderStatusAsync(String orderId) {
+        if (orderStateStore == null) {
+            return apiClient.getAsync(ApiEndpoint.ORDER_STATUS, ApiEndpoint.ORDER_STATUS.getPath() + orderId, null,
+                    new TypeReference<ApiResponse<OrderDetails>>() {});
+        }
+        ApiResponse<OrderDetails> stored = orderStateStore.lookup(orderId);
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
+        CompletableFuture<ApiResponse<OrderDetails>> response = apiClient.getAsync(ApiEndpoint.ORDER_STATUS,
+                ApiEndpoint.ORDER_STATUS.getPath() + orderId, null, new TypeReference<ApiResponse<OrderDetails>>() {});
+        response.thenAccept(orderStateStore::update);
+        return response;
+    }
+
+    /**
+     * Local order states fed from ORDER_* webhooks and order status responses
+     * @return The store, or null if orderStateCapacity is not configured
+     */
+    public OrderStateStore getOrderStateStore() {
+        return orderStateStore;
     }
 
     /**
@@ -94,7 +221,15 @@ public class XPay {
     }
 
     /**
-     * Get supported symbols with filtering
+     * Get supported symbols without blocking the calling thread
+     * @return Future of the supported symbols; completes exceptionally with XPayApiException if the API returns an error
+     */
+    public CompletableFuture<ApiResponse<List<SupportedSymbol>>> getSupportedSymbolsAsync() {
+        return getSupportedSymbolsAsync(null, null);
+    }
+
+    /**
+     * Get supported symbols with filtering; served from the local symbol catalog when one is configured
      * @param chain - Optional blockchain network
      * @param symbol - Optional symbol
      * @return List of supported symbols
@@ -102,11 +237,38 @@ public class XPay {
      * @throws Exception if there is a network or parsing error
      */
     public ApiResponse<List<SupportedSymbol>> getSupportedSymbols(String chain, String symbol) throws Exception {
-        return apiClient.get("/v1/symbol/supportSymbols", 
+        if (symbolCatalog != null) {
+            return symbolCatalog.lookup(chain, symbol);
+        }
+        return apiClient.get(ApiEndpoint.SUPPORTED_SYMBOLS, ApiEndpoint.SUPPORTED_SYMBOLS.getPath(),
                 SignatureUtil.buildQueryParams(chain, symbol), 
                 new TypeReference<ApiResponse<List<SupportedSymbol>>>() {});
     }
 
+    /**
+     * Get supported symbols with filtering without blocking the calling thread; served from the local
+     * symbol catalog when one is configured
+     * @param chain - Optional blockchain network
+     * @param symbol - Optional symbol
+     * @return Future of the supported symbols; completes exceptionally with XPayApiException if the API returns an error
+     */
+    public CompletableFuture<ApiResponse<List<SupportedSymbol>>> getSupportedSymbolsAsync(String chain, String symbol) {
+        if (symbolCatalog != null) {
+            return symbolCatalog.lookupAsync(chain, symbol);
+        }
+        return apiClient.getAsync(ApiEndpoint.SUPPORTED_SYMBOLS, ApiEndpoint.SUPPORTED_SYMBOLS.getPath(),
+                SignatureUtil.buildQueryParams(chain, symbol),
+                new TypeReference<ApiResponse<List<SupportedSymbol>>>() {});
+    }
+
+    /**
+     * Local catalog of supported symbols, for single-symbol lookups without a network call
+     * @return The catalog, or null if symbolCatalogTtl is not configured
+     */
+    public SymbolCatalog getSymbolCatalog() {
+        return symbolCatalog;
+    }
+
     /**
      * Verify webhook signature to ensure it came from X-Pay
      * @param body - Raw webhook request body
@@ -116,33 +278,52 @@ public class XPay {
      */
     public boolean verifyWebhook(String body, String signature, String timestamp) {
         try {
-            // Parse the webhook body
-            WebhookEvent event = objectMapper.readValue(body, WebhookEvent.class);
-            
-            // Get the data, nonce, and notifyType from the webhook data
-            Object data = event.getData();
-            String nonce = event.getNonce();
-            String notifyType = event.getNotifyType().name();
-            
-            // Create parameters map for signature generation
-            Map<String, Object> params = new HashMap<>();
-            params.put("data", SignatureUtil.convertDataToMap(data));
-            params.put("nonce", nonce);
-            params.put("notifyType", notifyType);
-            params.put("timestamp", Long.parseLong(timestamp));
-            
-            // Generate the expected signature
-            String expectedSignature = SignatureUtil.generateSignature(params, config.getApiSecret());
-            
-            // Check if the timestamp is within 30 seconds
-            long currentTime = System.currentTimeMillis() / 1000;
-            long webhookTime = Long.parseLong(timestamp);
-            if (Math.abs(currentTime - webhookTime) > 30) {
-                return false; // Timestamp is too old or in the future
-            }
-            
-            // Compare the signatures
-            return expectedSignature.equals(signature);
+            return verifyWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Verify webhook signature from the raw request bytes, without decoding them to a String
+     * @param body - Raw webhook request body (UTF-8 JSON)
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return True if signature is valid
+     */
+    public boolean verifyWebhook(byte[] body, String signature, String timestamp) {
+        try {
+            return verifyWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Verify webhook signature, reading the body straight from a stream
+     * @param body - Webhook request body stream; read to the end but not closed
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return True if signature is valid
+     */
+    public boolean verifyWebhook(InputStream body, String signature, String timestamp) {
+        try {
+            return verifyWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Verify webhook signature from a buffer, without changing its position
+     * @param body - Webhook request body between position and limit
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return True if signature is valid
+     */
+    public boolean verifyWebhook(ByteBuffer body, String signature, String timestamp) {
+        try {
+            return verifyWebhook(readTree(body), signature, timestamp);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -150,6 +331,10 @@ public class XPay {
 
     /**
      * Parse webhook event data
+     *
+     * The body is parsed once into a tree that is used both for signature verification and
+     * for binding the typed event data. With webhookReplayProtection enabled, a callback whose
+     * nonce was already accepted within the timestamp window is treated as invalid.
      * @param body - Webhook request body as string
      * @param signature - Signature from webhook
      * @param timestamp - Timestamp from webhook
@@ -157,25 +342,274 @@ public class XPay {
      */
     public WebhookEvent parseWebhook(String body, String signature, String timestamp) {
         try {
-            if (!verifyWebhook(body, signature, timestamp)) {
-                return null;
+            return parseWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data using the sign and timestamp fields carried in the body
+     * @param body - Webhook request body as string
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(String body) {
+        try {
+            return parseWebhook(objectMapper.readTree(body));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data from the raw request bytes, without decoding them to a String
+     * @param body - Raw webhook request body (UTF-8 JSON)
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(byte[] body, String signature, String timestamp) {
+        try {
+            return parseWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data from the raw request bytes using the sign and timestamp fields carried in the body
+     * @param body - Raw webhook request body (UTF-8 JSON)
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(byte[] body) {
+        try {
+            return parseWebhook(objectMapper.readTree(body));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data, reading the body straight from a stream
+     * @param body - Webhook request body stream; read to the end but not closed
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(InputStream body, String signature, String timestamp) {
+        try {
+            return parseWebhook(objectMapper.readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data from a buffer, without changing its position
+     * @param body - Webhook request body between position and limit
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(ByteBuffer body, String signature, String timestamp) {
+        try {
+            return parseWebhook(readTree(body), signature, timestamp);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parse webhook event data from a Spring request entity
+     *
+     * Declare the controller parameter as {@code RequestEntity<byte[]>} (or {@code @RequestBody byte[]}
+     * with {@link #parseWebhook(byte[])}) so the body is bound as bytes and never decoded to a String.
+     * @param request - Request entity with the raw webhook body
+     * @return Parsed webhook event or null if invalid
+     */
+    public WebhookEvent parseWebhook(HttpEntity<byte[]> request) {
+        byte[] body = request.getBody();
+        return body != null ? parseWebhook(body) : null;
+    }
+
+    /**
+     * Forget the nonce of a parsed webhook so that X-Pay's retry is not rejected as a replay;
+     * call it when the event could not be accepted for processing (no-op without replay protection)
+     * @param event - Webhook event returned by parseWebhook
+     */
+    public void releaseWebhook(WebhookEvent event) {
+        if (replayGuard != null && event != null) {
+            replayGuard.release(event.getNonce());
+        }
+    }
+
+    /**
+     * Verify and parse a batch of stored webhook deliveries in parallel on the common ForkJoinPool
+     * @param deliveries - Deliveries to verify
+     * @param checkTimestamp - False to skip the 30 second freshness check (and replay guard) when replaying old callbacks
+     * @return One result per delivery, in the same order; failures are reported per item, never thrown
+     */
+    public List<WebhookResult> parseWebhooks(List<WebhookDelivery> deliveries, boolean checkTimestamp) {
+        return parseWebhooks(deliveries, checkTimestamp, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verify and parse a batch of stored webhook deliveries in parallel
+     * @param deliveries - Deliveries to verify
+     * @param checkTimestamp - False to skip the 30 second freshness check (and replay guard) when replaying old callbacks
+     * @param executor - Executor verifying the deliveries
+     * @return One result per delivery, in the same order; failures are reported per item, never thrown
+     */
+    public List<WebhookResult> parseWebhooks(List<WebhookDelivery> deliveries, boolean checkTimestamp, Executor executor) {
+        WebhookResult[] results = new WebhookResult[deliveries.size()];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < results.length; start += WEBHOOK_BATCH_CHUNK) {
+            int from = start;
+            int to = Math.min(results.length, start + WEBHOOK_BATCH_CHUNK);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = parseWebhook(deliveries.get(i), checkTimestamp);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        return Arrays.asList(results);
+    }
+
+    private WebhookResult parseWebhook(WebhookDelivery delivery, boolean checkTimestamp) {
+        try {
+            JsonNode root = objectMapper.readTree(delivery.getBody());
+            String signature = delivery.getSignature() != null ? delivery.getSignature() : textValue(root.get("sign"));
+            String timestamp = delivery.getTimestamp() != null ? delivery.getTimestamp() : textValue(root.get("timestamp"));
+            if (signature == null) {
+                return new WebhookResult(delivery, WebhookVerificationStatus.INVALID_SIGNATURE, null, null);
             }
-            
-            WebhookEvent event = objectMapper.readValue(body, WebhookEvent.class);
-            
-            // Convert the data field to the appropriate type based on notifyType
-            if (event.getNotifyType().name().startsWith("ORDER_")) {
-                OrderWebhookData orderData = objectMapper.convertValue(event.getData(), OrderWebhookData.class);
-                event.setData(orderData);
-            } else if (event.getNotifyType().name().startsWith("COLLECT_")) {
-                CollectWebhookData collectData = objectMapper.convertValue(event.getData(), CollectWebhookData.class);
-                event.setData(collectData);
+            if (timestamp == null) {
+                return new WebhookResult(delivery, WebhookVerificationStatus.MALFORMED, null,
+                        new IllegalArgumentException("Webhook timestamp is missing"));
             }
-            
-            return event;
+            WebhookVerificationStatus status = verifyWebhook(root, signature, timestamp, checkTimestamp, checkTimestamp);
+            WebhookEvent event = status == WebhookVerificationStatus.VALID ? toWebhookEvent(root) : null;
+            return new WebhookResult(delivery, status, event, null);
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            return new WebhookResult(delivery, WebhookVerificationStatus.MALFORMED, null, e);
+        }
+    }
+
+    private WebhookEvent parseWebhook(JsonNode root) throws JsonProcessingException {
+        String signature = textValue(root.get("sign"));
+        String timestamp = textValue(root.get("timestamp"));
+        if (signature == null || timestamp == null) {
+            return null;
+        }
+        return parseWebhook(root, signature, timestamp);
+    }
+
+    private WebhookEvent parseWebhook(JsonNode root, String signature, String timestamp) throws JsonProcessingException {
+        if (verifyWebhook(root, signature, timestamp, true, true) != WebhookVerificationStatus.VALID) {
+            return null;
+        }
+        return toWebhookEvent(root);
+    }
+
+    private JsonNode readTree(ByteBuffer body) throws IOException {
+        if (body.hasArray()) {
+            return objectMapper.readTree(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        }
+        return objectMapper.readTree(new ByteBufferBackedInputStream(body.duplicate()));
+    }
+
+    private boolean verifyWebhook(JsonNode root, String signature, String timestamp) {
+        return verifyWebhook(root, signature, timestamp, true, false) == WebhookVerificationStatus.VALID;
+    }
+
+    /**
+     * Verify a parsed webhook body
+     * @param root - Parsed webhook body
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @param checkTimestamp - Whether to enforce the freshness window
+     * @param checkReplay - Whether to record the nonce with the replay guard, if one is configured
+     * @return Verification status
+     */
+    private WebhookVerificationStatus verifyWebhook(JsonNode root, String signature, String timestamp,
+                                                    boolean checkTimestamp, boolean checkReplay) {
+        // Check if the timestamp is within 30 seconds
+        long currentTime = System.currentTimeMillis() / 1000;
+        long webhookTime = Long.parseLong(timestamp);
+        if (checkTimestamp && Math.abs(currentTime - webhookTime) > WEBHOOK_TOLERANCE_SECONDS) {
+            return WebhookVerificationStatus.STALE_TIMESTAMP; // Timestamp is too old or in the future
+        }
+
+        // Get the data, nonce, and notifyType from the webhook body
+        JsonNode data = root.path("data");
+        if (!data.isObject() && !data.isNull() && !data.isMissingNode()) {
+            throw new IllegalArgumentException("Webhook data must be a JSON object");
+        }
+
+        // Create parameters map for signature generation; the data tree is signed in place
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", data.isObject() ? data : Collections.emptyMap());
+        params.put("nonce", textValue(root.get("nonce")));
+        params.put("notifyType", notifyType(root).name());
+        params.put("timestamp", webhookTime);
+
+        // Compare the raw signature bytes in constant time
+        if (!SignatureUtil.verifySignature(params, signature, signer)) {
+            return WebhookVerificationStatus.INVALID_SIGNATURE;
         }
+
+        // Drop duplicate deliveries before any typed binding
+        if (checkReplay && replayGuard != null && !replayGuard.register((String) params.get("nonce"), webhookTime)) {
+            return WebhookVerificationStatus.REPLAYED;
+        }
+        return WebhookVerificationStatus.VALID;
+    }
+
+    /**
+     * Bind a verified webhook body to a typed event
+     * @param root - Parsed webhook body
+     * @return Webhook event with OrderWebhookData or CollectWebhookData as its data
+     * @throws JsonProcessingException if the data does not match the notification type
+     */
+    private WebhookEvent toWebhookEvent(JsonNode root) throws JsonProcessingException {
+        WebhookNotifyType notifyType = notifyType(root);
+        JsonNode timestamp = root.get("timestamp");
+
+        WebhookEvent event = new WebhookEvent();
+        event.setSign(textValue(root.get("sign")));
+        event.setTimestamp(timestamp == null || timestamp.isNull() ? null : timestamp.asLong());
+        event.setNonce(textValue(root.get("nonce")));
+        event.setNotifyType(notifyType);
+
+        // Convert the data field to the appropriate type based on notifyType
+        JsonNode data = root.path("data");
+        if (notifyType.name().startsWith("ORDER_")) {
+            OrderWebhookData orderData = objectMapper.treeToValue(data, OrderWebhookData.class);
+            event.setData(orderData);
+            if (orderStateStore != null) {
+                orderStateStore.update(orderData, event.getTimestamp() != null
+                        ? event.getTimestamp()
+                        : System.currentTimeMillis() / 1000);
+            }
+        } else if (notifyType.name().startsWith("COLLECT_")) {
+            event.setData(objectMapper.treeToValue(data, CollectWebhookData.class));
+        } else {
+            event.setData(objectMapper.treeToValue(data, Object.class));
+        }
+        return event;
+    }
+
+    private static WebhookNotifyType notifyType(JsonNode root) {
+        String notifyType = textValue(root.get("notifyType"));
+        if (notifyType == null) {
+            throw new IllegalArgumentException("Webhook notifyType is missing");
+        }
+        return WebhookNotifyType.valueOf(notifyType);
+    }
+
+    private static String textValue(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
     }
 
     /**
@@ -186,6 +620,44 @@ public class XPay {
         return UUID.randomUUID().toString().replace("-", "");
     }
 
+    /**
+     * Whether a create request can be retried: the server de-duplicates orders by merchant orderId,
+     * so a repeat of a request that did reach it cannot create a second order
+     */
+    private static boolean hasOrderId(String orderId) {
+        return orderId != null && !orderId.isBlank();
+    }
+
+    /**
+     * Start a create call once its request has passed validation, if validation is on; the call is
+     * started directly when the symbol catalog is already loaded
+     */
+    private <T> CompletableFuture<T> afterValidation(String chain, String symbol, Double amount,
+                                                     Supplier<CompletableFuture<T>> call) {
+        if (requestValidator == null) {
+            return call.get();
+        }
+        CompletableFuture<Void> validated = requestValidator.validateAsync(chain, symbol, amount);
+        if (validated.isDone() && !validated.isCompletedExceptionally()) {
+            return call.get();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        validated.whenComplete((valid, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            call.get().whenComplete((response, callError) -> {
+                if (callError != null) {
+                    result.completeExceptionally(callError);
+                } else {
+                    result.complete(response);
+                }
+            });
+        });
+        return result;
+    }
+
     /**
      * Generate signature for request according to the API specification
      * @param params - Request parameters to sign
@@ -198,12 +670,12 @@ public class XPay {
 
         // Create parameters map for signature generation
         Map<String, Object> signParams = new HashMap<>();
-        signParams.put("data", SignatureUtil.convertDataToMap(params));
+        signParams.put("data", SignatureUtil.prepareSignatureData(params));
         signParams.put("nonce", nonce);
         signParams.put("timestamp", timestamp);
 
         // Calculate HMAC-SHA256 signature
-        String signature = SignatureUtil.generateSignature(signParams, apiSecret);
+        String signature = SignatureUtil.generateSignature(signParams, signer);
 
         // Return the request object with signature, timestamp, nonce, and data
         return SignedRequest.builder()
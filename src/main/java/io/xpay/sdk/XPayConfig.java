@@ -1,9 +1,21 @@
 package io.xpay.sdk;
 
+import io.xpay.sdk.client.ApiEndpoint;
+import io.xpay.sdk.client.CircuitBreakerConfig;
+import io.xpay.sdk.client.ConcurrencyLimitConfig;
+import io.xpay.sdk.client.HedgePolicy;
+import io.xpay.sdk.client.RateLimiter;
+import io.xpay.sdk.client.RetryPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import okhttp3.OkHttpClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * X-Pay SDK Configuration
@@ -40,4 +52,167 @@ public class XPayConfig {
      */
     @Builder.Default
     private int readTimeout = 30000;
+    
+    /**
+     * Overall timeout of a call in milliseconds, including retries and redirects; 0 for none
+     */
+    @Builder.Default
+    private int callTimeout = 0;
+    
+    /**
+     * Maximum number of concurrent HTTP requests; further calls are queued
+     */
+    @Builder.Default
+    private int maxRequests = 64;
+    
+    /**
+     * Maximum number of concurrent HTTP requests to the API host; further calls are queued
+     */
+    @Builder.Default
+    private int maxRequestsPerHost = 5;
+    
+    /**
+     * Maximum number of idle connections kept in the connection pool
+     */
+    @Builder.Default
+    private int maxIdleConnections = 5;
+    
+    /**
+     * Time in milliseconds an idle pooled connection is kept alive
+     */
+    @Builder.Default
+    private long keepAliveDuration = 300000;
+    
+    /**
+     * Protocols in order of preference, e.g. "h2", "http/1.1", or "h2_prior_knowledge" for
+     * cleartext HTTP/2; null for OkHttp's default of HTTP/2 with HTTP/1.1 fallback
+     */
+    private List<String> protocols;
+    
+    /**
+     * Preconfigured client to share with the rest of the application; when set it is used as is,
+     * and the timeout, dispatcher, pool and protocol settings above are ignored
+     */
+    private OkHttpClient httpClient;
+    
+    /**
+     * Executor that reads and deserializes responses of the *Async methods (default: common ForkJoinPool)
+     */
+    private Executor callbackExecutor;
+
+    /**
+     * Retry policy of API calls; RetryPolicy.NONE to disable retries. GET requests are always retried
+     * under it, payout and collection creation only when the request has a merchant orderId
+     */
+    @Builder.Default
+    private RetryPolicy retryPolicy = RetryPolicy.builder().build();
+
+    /**
+     * Per-endpoint retry policies that replace retryPolicy for those endpoints
+     */
+    private Map<ApiEndpoint, RetryPolicy> endpointRetryPolicies;
+
+    /**
+     * Size of the retry budget shared by all endpoints; retries stop once more than half of it has
+     * been used up by failures. 0 for an unlimited budget
+     */
+    @Builder.Default
+    private int retryBudgetTokens = 100;
+
+    /**
+     * Retry budget tokens returned per successful call
+     */
+    @Builder.Default
+    private double retryBudgetRatio = 0.1;
+
+    /**
+     * Settings of the per-endpoint circuit breakers; null (the default) for none. Calls to an endpoint
+     * whose circuit is open fail fast with XPayRejectedException
+     */
+    private CircuitBreakerConfig circuitBreaker;
+
+    /**
+     * Settings of the per-endpoint adaptive concurrency limits; null (the default) for no limit.
+     * Calls beyond an endpoint's limit fail fast with XPayRejectedException
+     */
+    private ConcurrencyLimitConfig concurrencyLimit;
+
+    /**
+     * Rate limiter applied to every call; share one instance between clients using the same API key.
+     * Null for none
+     */
+    private RateLimiter apiKeyRateLimiter;
+
+    /**
+     * Rate limiters applied to calls to individual endpoints, in addition to apiKeyRateLimiter
+     */
+    private Map<ApiEndpoint, RateLimiter> endpointRateLimiters;
+
+    /**
+     * Longest time in milliseconds a call waits for a rate limit permit before failing with
+     * XPayRejectedException; 0 to fail immediately. Async calls wait without blocking a thread
+     */
+    @Builder.Default
+    private long rateLimitMaxWait = 30000;
+
+    /**
+     * API error codes that, like HTTP 429, mean the request was rate limited and slow the rate
+     * limiters down
+     */
+    private Set<Integer> rateLimitErrorCodes;
+
+    /**
+     * Hedging of GET requests (order status, supported symbols); null (the default) for none
+     */
+    private HedgePolicy hedgePolicy;
+
+    /**
+     * Let concurrent identical GET requests (same path and query parameters) share one call. Every
+     * caller receives the same response object, which must then be treated as read-only.
+     */
+    private boolean requestCoalescing;
+
+    /**
+     * With request coalescing, how long in milliseconds a successful response is also served to
+     * identical requests made after it arrived; 0 (the default) to share only calls in flight
+     */
+    private long coalescingCacheDuration;
+
+    /**
+     * Serve getSupportedSymbols from a local catalog, refreshed in the background, that is reloaded
+     * at least every this many milliseconds; 0 (the default) to call the API every time
+     */
+    private long symbolCatalogTtl;
+
+    /**
+     * Check payout and collection requests against the symbol catalog (supported chain and symbol,
+     * amount limits, decimal places) before signing them, throwing XPayValidationException instead
+     * of calling the API; requires symbolCatalogTtl
+     */
+    private boolean requestValidation;
+
+    /**
+     * Keep the state of up to this many orders, fed from verified ORDER_* webhooks and order status
+     * responses, and answer getOrderStatus from it; 0 (the default) to call the API every time
+     */
+    private int orderStateCapacity;
+
+    /**
+     * Milliseconds a pending order state is served from the order state store before getOrderStatus
+     * asks the API again; final states are always served
+     */
+    @Builder.Default
+    private long orderStateMaxAge = 10000;
+
+    /**
+     * Reject webhooks whose nonce was already accepted within the timestamp window
+     */
+    @Builder.Default
+    private boolean webhookReplayProtection = false;
+    
+    /**
+     * Maximum number of webhook nonces remembered for replay protection
+     */
+    @Builder.Default
+    private int webhookReplayCapacity = 65536;
 }
\ No newline at end of file
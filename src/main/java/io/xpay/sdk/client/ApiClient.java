@@ -1,30 +1,66 @@
 package io.xpay.sdk.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.xpay.sdk.XPayConfig;
 import io.xpay.sdk.exception.XPayApiException;
+import io.xpay.sdk.exception.XPayRejectedException;
 import io.xpay.sdk.model.response.ApiResponse;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
-import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * API Client for making HTTP requests to the X-Pay API
  */
 public class ApiClient {
-    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final int MAX_CAPTURED_BODY = 8 * 1024;
     private final OkHttpClient client;
     private final String baseUrl;
     private final String apiKey;
     private final ObjectMapper objectMapper;
+    private final Executor callbackExecutor;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final RetryPolicy retryPolicy;
+    private final Map<ApiEndpoint, RetryPolicy> endpointRetryPolicies;
+    private final RetryBudget retryBudget;
+    private final Map<ApiEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(ApiEndpoint.class);
+    private final Map<ApiEndpoint, ConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(ApiEndpoint.class);
+    private final Map<ApiEndpoint, RateLimiter> endpointRateLimiters = new EnumMap<>(ApiEndpoint.class);
+    private final RateLimiter apiKeyRateLimiter;
+    private final long rateLimitMaxWait;
+    private final Set<Integer> rateLimitErrorCodes;
+    private final Map<ApiEndpoint, HedgeTracker> hedgeTrackers = new EnumMap<>(ApiEndpoint.class);
+    private final RequestCoalescer coalescer;
 
     /**
      * Create a new API client
@@ -33,15 +69,74 @@ public class ApiClient {
     public ApiClient(XPayConfig config) {
         this.apiKey = config.getApiKey();
         this.baseUrl = config.getBaseUrl();
+        this.callbackExecutor = config.getCallbackExecutor() != null
+                ? config.getCallbackExecutor()
+                : ForkJoinPool.commonPool();
+        this.retryPolicy = config.getRetryPolicy() != null ? config.getRetryPolicy() : RetryPolicy.NONE;
+        this.endpointRetryPolicies = config.getEndpointRetryPolicies() != null
+                ? Map.copyOf(config.getEndpointRetryPolicies())
+                : Map.of();
+        this.retryBudget = new RetryBudget(config.getRetryBudgetTokens(), config.getRetryBudgetRatio());
+        this.apiKeyRateLimiter = config.getApiKeyRateLimiter();
+        if (config.getEndpointRateLimiters() != null) {
+            endpointRateLimiters.putAll(config.getEndpointRateLimiters());
+        }
+        this.rateLimitMaxWait = TimeUnit.MILLISECONDS.toNanos(config.getRateLimitMaxWait());
+        this.rateLimitErrorCodes = config.getRateLimitErrorCodes() != null
+                ? Set.copyOf(config.getRateLimitErrorCodes())
+                : Set.of();
+        this.coalescer = config.isRequestCoalescing()
+                ? new RequestCoalescer(config.getCoalescingCacheDuration(), this::runCallback)
+                : null;
+        for (ApiEndpoint endpoint : ApiEndpoint.values()) {
+            if (config.getCircuitBreaker() != null) {
+                circuitBreakers.put(endpoint, new CircuitBreaker(endpoint.name(), config.getCircuitBreaker()));
+            }
+            if (config.getConcurrencyLimit() != null) {
+                concurrencyLimiters.put(endpoint, new ConcurrencyLimiter(config.getConcurrencyLimit()));
+            }
+            if (config.getHedgePolicy() != null) {
+                hedgeTrackers.put(endpoint, new HedgeTracker(config.getHedgePolicy()));
+            }
+        }
         
         // Configure ObjectMapper to be more lenient with unknown properties
         this.objectMapper = new ObjectMapper();
         objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         
-        this.client = new OkHttpClient.Builder()
+        this.client = config.getHttpClient() != null ? config.getHttpClient() : createClient(config);
+    }
+
+    /**
+     * Build the OkHttp client from the timeout, dispatcher, pool and protocol settings
+     * @param config - Configuration options
+     * @return Client
+     */
+    private static OkHttpClient createClient(XPayConfig config) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
                 .connectTimeout(config.getConnectTimeout(), TimeUnit.MILLISECONDS)
                 .readTimeout(config.getReadTimeout(), TimeUnit.MILLISECONDS)
-                .build();
+                .callTimeout(config.getCallTimeout(), TimeUnit.MILLISECONDS)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                        config.getKeepAliveDuration(), TimeUnit.MILLISECONDS));
+        
+        if (config.getProtocols() != null && !config.getProtocols().isEmpty()) {
+            List<Protocol> protocols = new ArrayList<>();
+            for (String protocol : config.getProtocols()) {
+                try {
+                    protocols.add(Protocol.get(protocol));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Unknown protocol: " + protocol, e);
+                }
+            }
+            builder.protocols(protocols);
+        }
+        return builder.build();
     }
 
     /**
@@ -54,6 +149,71 @@ public class ApiClient {
      * @throws Exception if there is a network or parsing error
      */
     public <T> T get(String path, Map<String, String> queryParams, TypeReference<T> responseType) throws Exception {
+        return get(ApiEndpoint.forPath(path), path, queryParams, responseType);
+    }
+
+    /**
+     * Make a GET request to the API, retrying transient failures under the endpoint's retry policy.
+     * With request coalescing on, concurrent identical requests share one call and its response object.
+     * @param endpoint - Endpoint the request belongs to, or null for the default retry policy
+     * @param path - API endpoint path
+     * @param queryParams - Query parameters
+     * @param responseType - Type reference for response deserialization
+     * @return Deserialized response
+     * @throws XPayApiException if the API returns an error
+     * @throws Exception if there is a network or parsing error
+     */
+    public <T> T get(ApiEndpoint endpoint, String path, Map<String, String> queryParams,
+                     TypeReference<T> responseType) throws Exception {
+        Request request = buildGet(path, queryParams);
+        if (coalescer != null) {
+            return await(coalesce(endpoint, request, responseType));
+        }
+        return execute(endpoint, policyFor(endpoint), () -> request, responseType);
+    }
+
+    /**
+     * Make an asynchronous GET request to the API
+     * @param path - API endpoint path
+     * @param queryParams - Query parameters
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response; completes exceptionally with XPayApiException if the
+     *         API returns an error. Cancelling it cancels the HTTP call.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, String> queryParams, TypeReference<T> responseType) {
+        return getAsync(ApiEndpoint.forPath(path), path, queryParams, responseType);
+    }
+
+    /**
+     * Make an asynchronous GET request to the API, retrying transient failures under the endpoint's
+     * retry policy; retries are scheduled without blocking a thread. With request coalescing on,
+     * concurrent identical requests share one call and its response object.
+     * @param endpoint - Endpoint the request belongs to, or null for the default retry policy
+     * @param path - API endpoint path
+     * @param queryParams - Query parameters
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response; completes exceptionally with XPayApiException if the
+     *         API returns an error. Cancelling it cancels the HTTP call and any pending retry.
+     */
+    public <T> CompletableFuture<T> getAsync(ApiEndpoint endpoint, String path, Map<String, String> queryParams,
+                                             TypeReference<T> responseType) {
+        Request request = buildGet(path, queryParams);
+        if (coalescer != null) {
+            return coalesce(endpoint, request, responseType);
+        }
+        return executeAsync(endpoint, policyFor(endpoint), () -> request, responseType);
+    }
+
+    /**
+     * Join an identical GET in flight, or start it; requests are identical when their URL, query
+     * parameters included, and response type match
+     */
+    private <T> CompletableFuture<T> coalesce(ApiEndpoint endpoint, Request request, TypeReference<T> responseType) {
+        String key = responseType.getType().getTypeName() + ' ' + request.url();
+        return coalescer.execute(key, () -> executeAsync(endpoint, policyFor(endpoint), () -> request, responseType));
+    }
+
+    private Request buildGet(String path, Map<String, String> queryParams) {
         HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + path).newBuilder();
         
         if (queryParams != null) {
@@ -64,15 +224,13 @@ public class ApiClient {
             }
         }
         
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(urlBuilder.build())
                 .header("X-API-TOKEN", apiKey)
                 .header("Content-Type", "application/json")
                 .header("Accept", "application/json")
                 .get()
                 .build();
-        
-        return executeRequest(request, responseType);
     }
 
     /**
@@ -85,19 +243,439 @@ public class ApiClient {
      * @throws Exception if there is a network or parsing error
      */
     public <T> T post(String path, Object body, TypeReference<T> responseType) throws Exception {
-        String jsonBody = objectMapper.writeValueAsString(body);
-        
-        RequestBody requestBody = RequestBody.create(jsonBody, JSON);
+        Request request = buildPost(path, body);
+        return execute(ApiEndpoint.forPath(path), RetryPolicy.NONE, () -> request, responseType);
+    }
+
+    /**
+     * Make a POST request to the API, retrying transient failures if the operation is idempotent
+     * @param endpoint - Endpoint the request belongs to, or null for the default retry policy
+     * @param path - API endpoint path
+     * @param body - Supplier of the request body, called once per attempt so each attempt can be
+     *               freshly signed
+     * @param idempotent - Whether the server de-duplicates repeats of this request; only then is it retried
+     * @param responseType - Type reference for response deserialization
+     * @return Deserialized response
+     * @throws XPayApiException if the API returns an error
+     * @throws Exception if there is a network or parsing error
+     */
+    public <T> T post(ApiEndpoint endpoint, String path, Supplier<?> body, boolean idempotent,
+                      TypeReference<T> responseType) throws Exception {
+        return execute(endpoint, idempotent ? policyFor(endpoint) : RetryPolicy.NONE,
+                () -> buildPost(path, body.get()), responseType);
+    }
+
+    /**
+     * Make an asynchronous POST request to the API
+     * @param path - API endpoint path
+     * @param body - Request body
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response; completes exceptionally with XPayApiException if the
+     *         API returns an error. Cancelling it cancels the HTTP call.
+     */
+    public <T> CompletableFuture<T> postAsync(String path, Object body, TypeReference<T> responseType) {
+        Request request;
+        try {
+            request = buildPost(path, body);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeAsync(ApiEndpoint.forPath(path), RetryPolicy.NONE, () -> request, responseType);
+    }
+
+    /**
+     * Make an asynchronous POST request to the API, retrying transient failures if the operation is
+     * idempotent; retries are scheduled without blocking a thread
+     * @param endpoint - Endpoint the request belongs to, or null for the default retry policy
+     * @param path - API endpoint path
+     * @param body - Supplier of the request body, called once per attempt
+     * @param idempotent - Whether the server de-duplicates repeats of this request; only then is it retried
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response; completes exceptionally with XPayApiException if the
+     *         API returns an error. Cancelling it cancels the HTTP call and any pending retry.
+     */
+    public <T> CompletableFuture<T> postAsync(ApiEndpoint endpoint, String path, Supplier<?> body, boolean idempotent,
+                                              TypeReference<T> responseType) {
+        return executeAsync(endpoint, idempotent ? policyFor(endpoint) : RetryPolicy.NONE,
+                () -> buildPost(path, body.get()), responseType);
+    }
+
+    private Request buildPost(String path, Object body) throws Exception {
+        RequestBody requestBody = JsonRequestBody.create(writerFor(body), body);
         
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(baseUrl + path)
                 .header("X-API-TOKEN", apiKey)
                 .header("Content-Type", "application/json")
                 .header("Accept", "application/json")
                 .post(requestBody)
                 .build();
-        
-        return executeRequest(request, responseType);
+    }
+
+    /**
+     * Writer for a request type, created once per class so its serializer is resolved only once.
+     * Supplementary characters are written as UTF-8 rather than escaped, exactly as the String
+     * produced by writeValueAsString encodes them.
+     */
+    private ObjectWriter writerFor(Object body) {
+        Class<?> type = body != null ? body.getClass() : Object.class;
+        return writers.computeIfAbsent(type, t -> objectMapper.writerFor(t)
+                .with(JsonWriteFeature.COMBINE_UNICODE_SURROGATES_IN_UTF8));
+    }
+
+    private RetryPolicy policyFor(ApiEndpoint endpoint) {
+        return endpoint != null ? endpointRetryPolicies.getOrDefault(endpoint, retryPolicy) : retryPolicy;
+    }
+
+    /**
+     * Execute a request, retrying transient failures under a policy and the retry budget
+     * @param endpoint - Endpoint whose circuit breaker and concurrency limit guard each attempt
+     * @param policy - Retry policy
+     * @param requests - Builds the request of each attempt
+     * @param responseType - Type reference for response deserialization
+     * @return Deserialized response
+     * @throws XPayApiException if the API returns an error
+     * @throws Exception if there is a network or parsing error, from the last attempt
+     */
+    private <T> T execute(ApiEndpoint endpoint, RetryPolicy policy, Callable<Request> requests,
+                          TypeReference<T> responseType) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(reservePermits(endpoint, rateLimitMaxWait));
+                Request request = requests.call();
+                T result = isHedged(endpoint, request)
+                        ? await(executeHedgedAsync(endpoint, request, responseType))
+                        : executeGuarded(endpoint, request, responseType);
+                retryBudget.recordSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!shouldRetry(policy, attempt, e)) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(policy.backoff(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Execute a request asynchronously, retrying transient failures under a policy and the retry
+     * budget. Retries are scheduled after their backoff on the callback executor.
+     * @param endpoint - Endpoint whose circuit breaker and concurrency limit guard each attempt
+     * @param policy - Retry policy
+     * @param requests - Builds the request of each attempt
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response
+     */
+    private <T> CompletableFuture<T> executeAsync(ApiEndpoint endpoint, RetryPolicy policy, Callable<Request> requests,
+                                                  TypeReference<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> current = new AtomicReference<>();
+        attemptAsync(result, current, endpoint, policy, requests, responseType, 1);
+        result.whenComplete((value, error) -> {
+            CompletableFuture<T> call = current.get();
+            if (result.isCancelled() && call != null) {
+                call.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private <T> void attemptAsync(CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> current,
+                                  ApiEndpoint endpoint, RetryPolicy policy, Callable<Request> requests,
+                                  TypeReference<T> responseType, int attempt) {
+        if (result.isDone()) {
+            return;
+        }
+        long wait;
+        try {
+            wait = reservePermits(endpoint, rateLimitMaxWait);
+        } catch (XPayRejectedException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        if (wait == 0) {
+            sendAsync(result, current, endpoint, policy, requests, responseType, attempt);
+        } else {
+            // The request is built, and signed, only once its permit is due
+            CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, this::runCallback)
+                    .execute(() -> sendAsync(result, current, endpoint, policy, requests, responseType, attempt));
+        }
+    }
+
+    private <T> void sendAsync(CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> current,
+                               ApiEndpoint endpoint, RetryPolicy policy, Callable<Request> requests,
+                               TypeReference<T> responseType, int attempt) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> call;
+        try {
+            Request request = requests.call();
+            call = isHedged(endpoint, request)
+                    ? executeHedgedAsync(endpoint, request, responseType)
+                    : executeGuardedAsync(endpoint, request, responseType);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        current.set(call);
+        if (result.isCancelled()) {
+            call.cancel(false);
+            return;
+        }
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                retryBudget.recordSuccess();
+                result.complete(value);
+            } else if (result.isDone() || !shouldRetry(policy, attempt, error)) {
+                result.completeExceptionally(error);
+            } else {
+                CompletableFuture.delayedExecutor(policy.backoff(attempt), TimeUnit.MILLISECONDS, this::runCallback)
+                        .execute(() -> attemptAsync(result, current, endpoint, policy, requests, responseType,
+                                attempt + 1));
+            }
+        });
+    }
+
+    /**
+     * Decide whether a failed attempt is retried, charging transient failures to the retry budget
+     */
+    private boolean shouldRetry(RetryPolicy policy, int attempt, Throwable error) {
+        if (error instanceof XPayRejectedException) {
+            return false;
+        }
+        if (!policy.isRetryable(error)) {
+            retryBudget.recordSuccess();
+            return false;
+        }
+        return retryBudget.recordFailure() && attempt < policy.getMaxAttempts();
+    }
+
+    /**
+     * Execute one attempt under the endpoint's circuit breaker and concurrency limit
+     * @throws XPayRejectedException if the circuit is open or the limit is reached
+     */
+    private <T> T executeGuarded(ApiEndpoint endpoint, Request request, TypeReference<T> responseType) throws Exception {
+        CircuitBreaker breaker = endpoint != null ? circuitBreakers.get(endpoint) : null;
+        ConcurrencyLimiter limiter = endpoint != null ? concurrencyLimiters.get(endpoint) : null;
+        admit(endpoint, breaker, limiter);
+        long start = System.nanoTime();
+        try {
+            T result = executeRequest(request, responseType);
+            recordOutcome(breaker, limiter, start, null);
+            recordRate(endpoint, null);
+            return result;
+        } catch (Exception e) {
+            recordOutcome(breaker, limiter, start, e);
+            recordRate(endpoint, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start one asynchronous attempt under the endpoint's circuit breaker and concurrency limit
+     * @throws XPayRejectedException if the circuit is open or the limit is reached
+     */
+    private <T> CompletableFuture<T> executeGuardedAsync(ApiEndpoint endpoint, Request request,
+                                                         TypeReference<T> responseType) throws XPayRejectedException {
+        CircuitBreaker breaker = endpoint != null ? circuitBreakers.get(endpoint) : null;
+        ConcurrencyLimiter limiter = endpoint != null ? concurrencyLimiters.get(endpoint) : null;
+        admit(endpoint, breaker, limiter);
+        long start = System.nanoTime();
+        CompletableFuture<T> call = executeAsync(request, responseType);
+        call.whenComplete((value, error) -> {
+            recordOutcome(breaker, limiter, start, error);
+            recordRate(endpoint, error);
+        });
+        return call;
+    }
+
+    private boolean isHedged(ApiEndpoint endpoint, Request request) {
+        return endpoint != null && hedgeTrackers.containsKey(endpoint) && "GET".equals(request.method());
+    }
+
+    /**
+     * Start one asynchronous attempt and, if it has not answered within the endpoint's hedge delay,
+     * an identical second one; the first answer wins and the other call is cancelled. The attempt
+     * fails only when every call it started has failed.
+     * @throws XPayRejectedException if the first call is refused
+     */
+    private <T> CompletableFuture<T> executeHedgedAsync(ApiEndpoint endpoint, Request request,
+                                                        TypeReference<T> responseType) throws XPayRejectedException {
+        HedgeTracker tracker = hedgeTrackers.get(endpoint);
+        long start = System.nanoTime();
+        CompletableFuture<T> primary = executeGuardedAsync(endpoint, request, responseType);
+        tracker.onRequest();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        primary.whenComplete((value, error) -> settle(result, tracker, start, value, error, hedge.get()));
+        CompletableFuture.delayedExecutor(tracker.delayNanos(), TimeUnit.NANOSECONDS, this::runCallback).execute(() -> {
+            if (result.isDone() || primary.isDone() || !tracker.tryHedge()) {
+                return;
+            }
+            long hedgeStart = System.nanoTime();
+            CompletableFuture<T> second;
+            try {
+                reservePermits(endpoint, 0);
+                second = executeGuardedAsync(endpoint, request, responseType);
+            } catch (XPayRejectedException e) {
+                return;
+            }
+            hedge.set(second);
+            second.whenComplete((value, error) -> settle(result, tracker, hedgeStart, value, error, primary));
+            if (result.isDone()) {
+                second.cancel(false);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                primary.cancel(false);
+                CompletableFuture<T> second = hedge.get();
+                if (second != null) {
+                    second.cancel(false);
+                }
+            }
+        });
+        return result;
+    }
+
+    private static <T> void settle(CompletableFuture<T> result, HedgeTracker tracker, long start,
+                                   T value, Throwable error, CompletableFuture<T> other) {
+        if (error == null) {
+            tracker.record(System.nanoTime() - start);
+            if (result.complete(value) && other != null) {
+                other.cancel(false);
+            }
+        } else if (!(error instanceof CancellationException) && (other == null || other.isDone())) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Wait for an attempt started asynchronously, rethrowing its failure as is
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            throw e;
+        }
+    }
+
+    private static void admit(ApiEndpoint endpoint, CircuitBreaker breaker, ConcurrencyLimiter limiter)
+            throws XPayRejectedException {
+        if (breaker != null) {
+            breaker.acquire();
+        }
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (breaker != null) {
+                breaker.release();
+            }
+            throw new XPayRejectedException(XPayRejectedException.Reason.CONCURRENCY_LIMIT, endpoint.name(), 0);
+        }
+    }
+
+    /**
+     * Feed the outcome of an attempt to the breaker and limiter. Network errors and 5xx responses
+     * count as failures; API errors such as invalid parameters show the endpoint is healthy.
+     */
+    private static void recordOutcome(CircuitBreaker breaker, ConcurrencyLimiter limiter, long start, Throwable error) {
+        if (breaker == null && limiter == null) {
+            return;
+        }
+        if (error instanceof CancellationException) {
+            if (breaker != null) {
+                breaker.release();
+            }
+            if (limiter != null) {
+                limiter.release();
+            }
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        boolean failure = error != null && (RetryPolicy.isNetworkError(error)
+                || (error instanceof XPayApiException && ((XPayApiException) error).getStatusCode() >= 500));
+        if (breaker != null) {
+            breaker.record(duration, failure);
+        }
+        if (limiter != null) {
+            limiter.release(duration, failure);
+        }
+    }
+
+    /**
+     * Reserve a permit from the endpoint's rate limiter and from the API key's
+     * @param maxWait - Longest acceptable wait in nanoseconds
+     * @return Nanoseconds to wait before sending
+     * @throws XPayRejectedException if a permit is not available within the maximum wait
+     */
+    private long reservePermits(ApiEndpoint endpoint, long maxWait) throws XPayRejectedException {
+        RateLimiter endpointLimiter = endpoint != null ? endpointRateLimiters.get(endpoint) : null;
+        long wait = 0;
+        if (endpointLimiter != null) {
+            wait = endpointLimiter.reserve(maxWait);
+            if (wait < 0) {
+                throw new XPayRejectedException(XPayRejectedException.Reason.RATE_LIMITED, endpoint.name(), 0);
+            }
+        }
+        if (apiKeyRateLimiter != null) {
+            long keyWait = apiKeyRateLimiter.reserve(maxWait);
+            if (keyWait < 0) {
+                if (endpointLimiter != null) {
+                    endpointLimiter.cancel();
+                }
+                throw new XPayRejectedException(XPayRejectedException.Reason.RATE_LIMITED,
+                        endpoint != null ? endpoint.name() : "API key", 0);
+            }
+            wait = Math.max(wait, keyWait);
+        }
+        return wait;
+    }
+
+    /**
+     * Slow the rate limiters down when the API reports rate limiting (HTTP 429 or a configured error
+     * code), and let them recover on other responses
+     */
+    private void recordRate(ApiEndpoint endpoint, Throwable error) {
+        RateLimiter endpointLimiter = endpoint != null ? endpointRateLimiters.get(endpoint) : null;
+        if (endpointLimiter == null && apiKeyRateLimiter == null) {
+            return;
+        }
+        boolean throttled = error instanceof XPayApiException
+                && (((XPayApiException) error).getStatusCode() == 429
+                || rateLimitErrorCodes.contains(((XPayApiException) error).getErrorCode()));
+        if (!throttled && error != null && !(error instanceof XPayApiException)) {
+            return;
+        }
+        for (RateLimiter limiter : new RateLimiter[]{endpointLimiter, apiKeyRateLimiter}) {
+            if (limiter == null) {
+                continue;
+            }
+            if (throttled) {
+                limiter.onThrottled();
+            } else {
+                limiter.onSuccess();
+            }
+        }
+    }
+
+    private void runCallback(Runnable task) {
+        try {
+            callbackExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
     }
 
     /**
@@ -106,33 +684,107 @@ public class ApiClient {
      * @param responseType - Type reference for response deserialization
      * @return Deserialized response
      * @throws XPayApiException if the API returns an error
+     * @throws CancellationException if the call was cancelled
      * @throws Exception if there is a network or parsing error
      */
     private <T> T executeRequest(Request request, TypeReference<T> responseType) throws Exception {
-        try (Response response = client.newCall(request).execute()) {
-            String responseBody = response.body() != null ? response.body().string() : null;
-            
-            if (!response.isSuccessful()) {
-                handleErrorResponse(response, responseBody);
+        Call call = client.newCall(request);
+        try (Response response = call.execute()) {
+            return readResponse(response, responseType);
+        } catch (IOException e) {
+            throw failure(call, e);
+        }
+    }
+
+    /**
+     * Wrap the I/O failure of a call; a call that was cancelled fails with CancellationException
+     * instead, so it is neither retried nor counted against the endpoint
+     */
+    private static Exception failure(Call call, IOException e) {
+        if (call.isCanceled()) {
+            CancellationException cancelled = new CancellationException("Call cancelled");
+            cancelled.initCause(e);
+            return cancelled;
+        }
+        return new Exception("Network error: " + e.getMessage(), e);
+    }
+
+    /**
+     * Enqueue an HTTP request; the response is read and deserialized on the callback executor so the
+     * OkHttp dispatcher threads only wait for the network
+     * @param request - OkHttp request
+     * @param responseType - Type reference for response deserialization
+     * @return Future of the deserialized response
+     */
+    private <T> CompletableFuture<T> executeAsync(Request request, TypeReference<T> responseType) {
+        Call call = client.newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
             }
-            
-            try {
-                return objectMapper.readValue(responseBody, responseType);
-            } catch (Exception e) {
-                throw new Exception("Error parsing response: " + e.getMessage() + "\nResponse body: " + responseBody, e);
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(failure(call, e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                Runnable complete = () -> {
+                    try (response) {
+                        future.complete(readResponse(response, responseType));
+                    } catch (IOException e) {
+                        future.completeExceptionally(failure(call, e));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                };
+                runCallback(complete);
             }
+        });
+        return future;
+    }
+
+    /**
+     * Read and deserialize a response straight from the body stream; only the start of the body is
+     * kept, for the message of a parse failure
+     * @param response - OkHttp response
+     * @param responseType - Type reference for response deserialization
+     * @return Deserialized response
+     * @throws XPayApiException if the API returns an error
+     * @throws Exception if the body cannot be read or parsed
+     */
+    private <T> T readResponse(Response response, TypeReference<T> responseType) throws Exception {
+        ResponseBody body = response.body();
+        
+        if (!response.isSuccessful()) {
+            byte[] errorBody = body != null ? body.byteStream().readNBytes(MAX_CAPTURED_BODY) : null;
+            handleErrorResponse(response, errorBody);
+        }
+        if (body == null) {
+            throw new Exception("Error parsing response: empty body");
+        }
+        
+        CapturingInputStream in = new CapturingInputStream(body.byteStream(), body.contentLength(), MAX_CAPTURED_BODY);
+        try {
+            return objectMapper.readValue(in, responseType);
         } catch (IOException e) {
-            throw new Exception("Network error: " + e.getMessage(), e);
+            if (!(e instanceof JsonProcessingException)) {
+                throw e;
+            }
+            throw new Exception("Error parsing response: " + e.getMessage() + "\nResponse body: " + in.captured(), e);
         }
     }
 
     /**
      * Handle error responses from the API
      * @param response - OkHttp response
-     * @param responseBody - Response body as string
+     * @param responseBody - Response body, or its first bytes if it is large
      * @throws XPayApiException with details about the error
      */
-    private void handleErrorResponse(Response response, String responseBody) throws XPayApiException {
+    private void handleErrorResponse(Response response, byte[] responseBody) throws XPayApiException {
         int statusCode = response.code();
         String errorMessage = "API error";
         int errorCode = 0;
@@ -0,0 +1,54 @@
+package io.xpay.sdk.client;
+
+/**
+ * X-Pay API operations, used to configure behaviour such as retries per endpoint
+ */
+public enum ApiEndpoint {
+    /**
+     * POST /v1/order/createPayout
+     */
+    CREATE_PAYOUT("/v1/order/createPayout"),
+
+    /**
+     * POST /v1/order/createCollection
+     */
+    CREATE_COLLECTION("/v1/order/createCollection"),
+
+    /**
+     * GET /v1/order/status/{orderId}
+     */
+    ORDER_STATUS("/v1/order/status/"),
+
+    /**
+     * GET /v1/symbol/supportSymbols
+     */
+    SUPPORTED_SYMBOLS("/v1/symbol/supportSymbols");
+
+    private final String path;
+
+    ApiEndpoint(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Request path, or its prefix for endpoints that take a path parameter
+     * @return API path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Find the endpoint of a request path
+     * @param path - API path
+     * @return Endpoint, or null if the path is not a known endpoint
+     */
+    public static ApiEndpoint forPath(String path) {
+        for (ApiEndpoint endpoint : values()) {
+            if (endpoint.path.endsWith("/") ? path.startsWith(endpoint.path) : path.equals(endpoint.path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
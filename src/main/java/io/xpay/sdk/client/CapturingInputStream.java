@@ -0,0 +1,116 @@
+package io.xpay.sdk.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Input stream that keeps a copy of the first bytes read through it, so a response that fails
+ * to parse can still be reported without buffering the whole body up front. The copy is allocated
+ * on the first read, sized to the body when its length is known.
+ */
+class CapturingInputStream extends FilterInputStream {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int limit;
+    private final long contentLength;
+    private byte[] captured;
+    private int size;
+    private boolean truncated;
+
+    /**
+     * Wrap a stream
+     * @param in - Stream to read from
+     * @param contentLength - Length of the body in bytes, or -1 if unknown
+     * @param limit - Maximum number of bytes kept
+     */
+    CapturingInputStream(InputStream in, long contentLength, int limit) {
+        super(in);
+        this.limit = limit;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            if (room(1) > 0) {
+                captured[size++] = (byte) b;
+            } else {
+                truncated = true;
+            }
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            capture(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Route skipped bytes through read() so the capture has no gaps
+        byte[] buffer = new byte[(int) Math.min(n, 4096)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Bytes read so far, up to the limit, followed by "..." if there was more
+     * @return Captured body text
+     */
+    String captured() {
+        String text = size > 0 ? new String(captured, 0, size, StandardCharsets.UTF_8) : "";
+        return truncated ? text + "..." : text;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        int copy = room(len);
+        if (copy > 0) {
+            System.arraycopy(b, off, captured, size, copy);
+            size += copy;
+        }
+        if (copy < len) {
+            truncated = true;
+        }
+    }
+
+    /**
+     * Make room to capture more bytes, allocating or growing the copy up to the limit
+     * @param wanted - Number of bytes to capture
+     * @return Number of them that fit under the limit
+     */
+    private int room(int wanted) {
+        int fit = Math.min(wanted, limit - size);
+        if (fit <= 0) {
+            return 0;
+        }
+        int needed = size + fit;
+        if (captured == null) {
+            int initial = contentLength > 0 ? (int) Math.min(contentLength, limit) : Math.min(INITIAL_CAPACITY, limit);
+            captured = new byte[Math.max(initial, needed)];
+        } else if (needed > captured.length) {
+            captured = Arrays.copyOf(captured, Math.max(needed, (int) Math.min((long) captured.length * 2, limit)));
+        }
+        return fit;
+    }
+}
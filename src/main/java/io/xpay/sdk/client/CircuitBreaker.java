@@ -0,0 +1,154 @@
+package io.xpay.sdk.client;
+
+import io.xpay.sdk.exception.XPayRejectedException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker of one endpoint
+ *
+ * Outcomes are recorded in a fixed ring of the last {@code windowSize} calls with running counts
+ * of failed and slow calls, so recording and checking are O(1). State changes happen under the
+ * breaker's monitor; a call holds it only for those few field updates, never across the request.
+ */
+public final class CircuitBreaker {
+    /**
+     * Circuit state
+     */
+    public enum State {
+        /**
+         * Calls pass and outcomes are recorded
+         */
+        CLOSED,
+
+        /**
+         * Calls are refused until the open duration has passed
+         */
+        OPEN,
+
+        /**
+         * A limited number of trial calls decide whether to close or reopen
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int failed;
+    private int slow;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * Create a closed circuit breaker
+     * @param name - Endpoint name, used in rejection messages
+     * @param config - Breaker settings
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        if (config.getWindowSize() <= 0 || config.getHalfOpenCalls() <= 0) {
+            throw new IllegalArgumentException("windowSize and halfOpenCalls must be positive");
+        }
+        this.name = name;
+        this.config = config;
+        this.window = new byte[Math.max(config.getWindowSize(), config.getHalfOpenCalls())];
+    }
+
+    /**
+     * Ask permission for a call
+     * @throws XPayRejectedException if the circuit is open, or half-open with all trial calls taken
+     */
+    public synchronized void acquire() throws XPayRejectedException {
+        if (state == State.OPEN) {
+            long remaining = config.getOpenDuration() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+            if (remaining > 0) {
+                throw new XPayRejectedException(XPayRejectedException.Reason.CIRCUIT_OPEN, name, remaining);
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits == 0) {
+                throw new XPayRejectedException(XPayRejectedException.Reason.CIRCUIT_OPEN, name, 0);
+            }
+            trialPermits--;
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call
+     * @param durationNanos - Call duration
+     * @param failure - Whether the call failed with a network error or a server error
+     */
+    public synchronized void record(long durationNanos, boolean failure) {
+        if (state == State.OPEN) {
+            // Calls permitted before the circuit opened
+            return;
+        }
+        byte outcome = (byte) ((failure ? FAILED : 0)
+                | (TimeUnit.NANOSECONDS.toMillis(durationNanos) >= config.getSlowCallDuration() ? SLOW : 0));
+        int size = state == State.HALF_OPEN ? config.getHalfOpenCalls() : config.getWindowSize();
+        if (recorded == size) {
+            byte evicted = window[next];
+            failed -= evicted & FAILED;
+            slow -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[next] = outcome;
+        next = (next + 1) % size;
+        failed += outcome & FAILED;
+        slow += (outcome & SLOW) >> 1;
+
+        int minimum = state == State.HALF_OPEN ? size : Math.min(config.getMinimumCalls(), size);
+        if (recorded < minimum) {
+            return;
+        }
+        boolean tripped = failed * 100 >= config.getFailureRateThreshold() * recorded
+                || slow * 100 >= config.getSlowCallRateThreshold() * recorded;
+        if (tripped) {
+            transition(State.OPEN);
+        } else if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    /**
+     * Return the permission of a call that ended without an outcome, e.g. because it was cancelled
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trialPermits + recorded < config.getHalfOpenCalls()) {
+            trialPermits++;
+        }
+    }
+
+    /**
+     * Current state
+     * @return Circuit state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN
+                && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt) >= config.getOpenDuration()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void transition(State to) {
+        state = to;
+        next = 0;
+        recorded = 0;
+        failed = 0;
+        slow = 0;
+        if (to == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (to == State.HALF_OPEN) {
+            trialPermits = config.getHalfOpenCalls();
+        }
+    }
+}
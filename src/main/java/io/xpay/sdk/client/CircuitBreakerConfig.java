@@ -0,0 +1,60 @@
+package io.xpay.sdk.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the per-endpoint circuit breakers
+ *
+ * Outcomes of the last {@code windowSize} calls to an endpoint are kept. Once at least
+ * {@code minimumCalls} are recorded, the circuit opens when the share of failed calls (network
+ * errors and 5xx responses) reaches {@code failureRateThreshold}, or the share of calls slower
+ * than {@code slowCallDuration} reaches {@code slowCallRateThreshold}. An open circuit refuses
+ * calls for {@code openDuration}, then lets {@code halfOpenCalls} trial calls through and closes
+ * again if they pass the same thresholds.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class CircuitBreakerConfig {
+    /**
+     * Number of most recent calls the rates are computed over
+     */
+    @Builder.Default
+    private final int windowSize = 50;
+
+    /**
+     * Number of calls that must be recorded before the circuit can open
+     */
+    @Builder.Default
+    private final int minimumCalls = 20;
+
+    /**
+     * Failure rate in percent at which the circuit opens
+     */
+    @Builder.Default
+    private final int failureRateThreshold = 50;
+
+    /**
+     * Slow call rate in percent at which the circuit opens
+     */
+    @Builder.Default
+    private final int slowCallRateThreshold = 80;
+
+    /**
+     * Duration in milliseconds above which a call counts as slow
+     */
+    @Builder.Default
+    private final long slowCallDuration = 10000;
+
+    /**
+     * Time in milliseconds an open circuit refuses calls before trying again
+     */
+    @Builder.Default
+    private final long openDuration = 30000;
+
+    /**
+     * Number of trial calls let through after the open duration
+     */
+    @Builder.Default
+    private final int halfOpenCalls = 5;
+}
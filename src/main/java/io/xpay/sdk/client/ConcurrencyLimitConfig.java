@@ -0,0 +1,47 @@
+package io.xpay.sdk.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the per-endpoint adaptive concurrency limits
+ *
+ * Each endpoint starts at {@code initialLimit} calls in flight. After every call the number of
+ * requests waiting at the server is estimated from how much slower the call was than the fastest
+ * recent one. The limit grows by one while fewer than {@code maxQueue / 2} are waiting and shrinks
+ * by one when more than {@code maxQueue} are, and is multiplied by {@code backoffRatio} when a call
+ * fails (additive increase, multiplicative decrease, with a Vegas-style latency signal).
+ */
+@Getter
+@Builder(toBuilder = true)
+public class ConcurrencyLimitConfig {
+    /**
+     * Limit before any calls are observed
+     */
+    @Builder.Default
+    private final int initialLimit = 20;
+
+    /**
+     * Lowest limit
+     */
+    @Builder.Default
+    private final int minLimit = 1;
+
+    /**
+     * Highest limit
+     */
+    @Builder.Default
+    private final int maxLimit = 200;
+
+    /**
+     * Factor the limit is multiplied by when a call fails with a network or server error
+     */
+    @Builder.Default
+    private final double backoffRatio = 0.9;
+
+    /**
+     * Estimated number of requests queued at the server above which the limit shrinks
+     */
+    @Builder.Default
+    private final int maxQueue = 6;
+}
@@ -0,0 +1,106 @@
+package io.xpay.sdk.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit of one endpoint
+ *
+ * Admission is a lock-free compare-and-set on the in-flight count against the current limit.
+ * Completed calls adjust the limit under the limiter's monitor. As in TCP Vegas, the number of
+ * requests queued at the server is estimated as {@code limit * (1 - baseline / latency)}, where
+ * the baseline is the lowest latency recently observed: the limit grows by one while the queue is
+ * short and the endpoint is at least half busy, and shrinks by one when the queue is long.
+ * Failures cut it multiplicatively. The baseline is the minimum over the previous window of
+ * samples, so it follows the server if its normal latency changes.
+ */
+public final class ConcurrencyLimiter {
+    private static final int BASELINE_WINDOW = 500;
+
+    private final ConcurrencyLimitConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long baseline;
+    private long windowMin = Long.MAX_VALUE;
+    private int samples;
+
+    /**
+     * Create a limiter at the initial limit
+     * @param config - Limit settings
+     */
+    public ConcurrencyLimiter(ConcurrencyLimitConfig config) {
+        if (config.getMinLimit() <= 0 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalArgumentException("limits must satisfy 0 < minLimit <= maxLimit");
+        }
+        this.config = config;
+        this.limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), config.getInitialLimit()));
+    }
+
+    /**
+     * Take a slot if the endpoint is below its limit
+     * @return True if the call may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a slot and adjust the limit
+     * @param durationNanos - Call duration
+     * @param failure - Whether the call failed with a network error or a server error
+     */
+    public void release(long durationNanos, boolean failure) {
+        int busy = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failure) {
+                limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+                return;
+            }
+            windowMin = Math.min(windowMin, durationNanos);
+            if (baseline == 0 || durationNanos < baseline) {
+                baseline = durationNanos;
+            }
+            if (++samples == BASELINE_WINDOW) {
+                baseline = windowMin;
+                windowMin = Long.MAX_VALUE;
+                samples = 0;
+            }
+            double queued = limit * (1 - baseline / (double) Math.max(1, durationNanos));
+            if (queued > config.getMaxQueue()) {
+                limit = Math.max(config.getMinLimit(), limit - 1);
+            } else if (queued < config.getMaxQueue() / 2.0 && busy * 2 >= limit) {
+                limit = Math.min(config.getMaxLimit(), limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Give back a slot without adjusting the limit, for a call that ended without an outcome
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Current limit
+     * @return Maximum calls in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Calls in flight
+     * @return Number of admitted calls not yet released
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,51 @@
+package io.xpay.sdk.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Hedging policy for GET requests
+ *
+ * If an attempt has not answered within the {@code percentile} latency recently observed for its
+ * endpoint, a second, identical request is sent and whichever answers first is used; the other
+ * is cancelled. Until {@code minSamples} latencies are recorded, {@code initialDelay} is used.
+ * The hedge goes out on another pooled connection when HTTP/1.1 is used, which sidesteps a
+ * connection that has stalled.
+ *
+ * Hedges are capped by a budget: every request earns {@code budgetPercent} / 100 of a hedge, up to
+ * a small reserve, so hedging adds at most that share of extra load even when the API is slow
+ * across the board.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class HedgePolicy {
+    /**
+     * Latency percentile after which a hedge is sent
+     */
+    @Builder.Default
+    private final double percentile = 95;
+
+    /**
+     * Hedge delay in milliseconds before enough latencies are recorded
+     */
+    @Builder.Default
+    private final long initialDelay = 100;
+
+    /**
+     * Lower bound of the hedge delay in milliseconds
+     */
+    @Builder.Default
+    private final long minDelay = 1;
+
+    /**
+     * Number of recorded latencies needed before the percentile is used
+     */
+    @Builder.Default
+    private final int minSamples = 100;
+
+    /**
+     * Maximum extra requests from hedging, in percent of requests
+     */
+    @Builder.Default
+    private final int budgetPercent = 10;
+}
@@ -0,0 +1,127 @@
+package io.xpay.sdk.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency percentile and hedge budget of one endpoint
+ *
+ * Latencies go into log-scale histograms (15% wide buckets from 50 microseconds to about a
+ * minute), updated with lock-free increments. Two windows are kept, the filling one and the
+ * previous one, so the percentile follows recent behaviour; it is recomputed from both every
+ * few samples rather than on every request.
+ */
+final class HedgeTracker {
+    private static final long MIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final double GROWTH = 1.15;
+    private static final int BUCKETS = 100;
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long SCALE = 1000;
+    private static final long MAX_BUDGET = 10 * SCALE;
+
+    private final HedgePolicy policy;
+    private final long minDelay;
+    private final long deposit;
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+    private volatile long delay;
+
+    HedgeTracker(HedgePolicy policy) {
+        this.policy = policy;
+        this.minDelay = TimeUnit.MILLISECONDS.toNanos(policy.getMinDelay());
+        this.deposit = policy.getBudgetPercent() * SCALE / 100;
+        this.delay = Math.max(minDelay, TimeUnit.MILLISECONDS.toNanos(policy.getInitialDelay()));
+    }
+
+    /**
+     * Current hedge delay
+     * @return Nanoseconds to wait for an attempt before hedging it
+     */
+    long delayNanos() {
+        return delay;
+    }
+
+    /**
+     * Record the latency of a successful attempt
+     */
+    void record(long nanos) {
+        current.incrementAndGet(bucket(nanos));
+        if (windowCount.incrementAndGet() == WINDOW) {
+            synchronized (this) {
+                previous = current;
+                current = new AtomicLongArray(BUCKETS);
+                windowCount.set(0);
+            }
+        }
+        long count = samples.incrementAndGet();
+        if (count >= policy.getMinSamples() && count % RECOMPUTE_EVERY == 0) {
+            delay = Math.max(minDelay, percentile(policy.getPercentile()));
+        }
+    }
+
+    /**
+     * Earn a share of a hedge for a request
+     */
+    void onRequest() {
+        long value;
+        do {
+            value = budget.get();
+            if (value >= MAX_BUDGET) {
+                return;
+            }
+        } while (!budget.compareAndSet(value, Math.min(MAX_BUDGET, value + deposit)));
+    }
+
+    /**
+     * Spend a hedge if the budget allows it
+     * @return True if a hedge may be sent
+     */
+    boolean tryHedge() {
+        long value;
+        do {
+            value = budget.get();
+            if (value < SCALE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(value, value - SCALE));
+        return true;
+    }
+
+    private long percentile(double p) {
+        AtomicLongArray a = current;
+        AtomicLongArray b = previous;
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = a.get(i) + b.get(i);
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(total * p / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos <= MIN_NANOS) {
+            return 0;
+        }
+        int index = (int) Math.ceil(Math.log((double) nanos / MIN_NANOS) / Math.log(GROWTH));
+        return Math.min(BUCKETS - 1, index);
+    }
+
+    private static long upperBound(int bucket) {
+        return (long) (MIN_NANOS * Math.pow(GROWTH, bucket));
+    }
+}
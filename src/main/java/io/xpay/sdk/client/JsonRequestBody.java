@@ -0,0 +1,52 @@
+package io.xpay.sdk.client;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * JSON request body serialized once, straight to UTF-8 bytes
+ *
+ * Jackson encodes the value into its recycled per-thread buffers and the result is copied once
+ * into an exact-size array, with no intermediate String. The bytes are written to the connection
+ * sink as they are, so the content length is known up front and OkHttp can replay the body on a
+ * retry without serializing it again.
+ */
+public final class JsonRequestBody extends RequestBody {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final byte[] content;
+
+    private JsonRequestBody(byte[] content) {
+        this.content = content;
+    }
+
+    /**
+     * Serialize a value into a request body
+     * @param writer - Writer for the value's type
+     * @param value - Value to serialize
+     * @return Request body
+     * @throws IOException if the value cannot be serialized
+     */
+    public static JsonRequestBody create(ObjectWriter writer, Object value) throws IOException {
+        return new JsonRequestBody(writer.writeValueAsBytes(value));
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return content.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(content);
+    }
+}
@@ -0,0 +1,157 @@
+package io.xpay.sdk.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for pacing API calls
+ *
+ * Implemented as a generic cell rate algorithm: the whole bucket is one timestamp, the time at
+ * which it would be full again, advanced by one emission interval per permit with a single
+ * compare-and-set. Up to {@code burst} permits are available at once, refilled at
+ * {@code permitsPerSecond}. Permits can be taken without waiting ({@link #tryAcquire()}), by
+ * blocking ({@link #acquire()}), or as a future that completes when the permit is due
+ * ({@link #acquireAsync(Executor)}).
+ *
+ * When the API reports that it is rate limiting, {@link #onThrottled()} halves the rate and
+ * empties the bucket. Rejections of calls that were already in flight count once: the rate is not
+ * halved again until the bucket could have refilled. Each following successful call
+ * ({@link #onSuccess()}) restores 1% of the configured rate, so a client settles around the
+ * server's limit instead of bursting into it repeatedly.
+ *
+ * One limiter can be shared by several clients, e.g. all clients using the same API key.
+ */
+public final class RateLimiter {
+    private static final double MIN_RATE_FACTOR = 1.0 / 64;
+    private static final double RECOVERY_FACTOR = 0.01;
+
+    private final long baseInterval;
+    private final long maxInterval;
+    private final int burst;
+    private final AtomicLong interval;
+    private final AtomicLong fullAt;
+    private final AtomicLong throttledAt;
+
+    /**
+     * Create a full bucket
+     * @param permitsPerSecond - Sustained rate
+     * @param burst - Permits available at once
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.baseInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.maxInterval = (long) (baseInterval / MIN_RATE_FACTOR);
+        this.burst = burst;
+        this.interval = new AtomicLong(baseInterval);
+        this.fullAt = new AtomicLong(System.nanoTime());
+        this.throttledAt = new AtomicLong(System.nanoTime() - maxInterval * burst);
+    }
+
+    /**
+     * Take a permit if one is available now
+     * @return True if a permit was taken
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Take a permit, waiting until it is available
+     * @throws InterruptedException if interrupted while waiting; the permit is still consumed
+     */
+    public void acquire() throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(reserve(Long.MAX_VALUE));
+    }
+
+    /**
+     * Take a permit without blocking; the future completes when the permit is due
+     * @param executor - Executor the future is completed on
+     * @return Future completed once the caller may proceed
+     */
+    public CompletableFuture<Void> acquireAsync(Executor executor) {
+        long wait = reserve(Long.MAX_VALUE);
+        if (wait == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, executor));
+    }
+
+    /**
+     * Reserve a permit if it becomes available within a maximum wait
+     * @param maxWaitNanos - Longest acceptable wait
+     * @return Nanoseconds the caller must wait before using the permit, or -1 if none was reserved
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long step = interval.get();
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = Math.max(0, start + step - now - step * (long) burst);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, start + step)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Return a permit reserved but not used
+     */
+    public void cancel() {
+        fullAt.addAndGet(-interval.get());
+    }
+
+    /**
+     * Slow down after the API reported rate limiting: halve the rate and drop any saved-up burst
+     */
+    public void onThrottled() {
+        long now = System.nanoTime();
+        long last = throttledAt.get();
+        if (now - last < interval.get() * (long) burst || !throttledAt.compareAndSet(last, now)) {
+            return;
+        }
+        long step;
+        long next;
+        do {
+            step = interval.get();
+            next = Math.min(maxInterval, step * 2);
+        } while (step != next && !interval.compareAndSet(step, next));
+        long emptyAt = now + next * (long) burst;
+        long current;
+        do {
+            current = fullAt.get();
+        } while (current - emptyAt < 0 && !fullAt.compareAndSet(current, emptyAt));
+    }
+
+    /**
+     * Recover part of the configured rate after a call that was not rate limited
+     */
+    public void onSuccess() {
+        long step;
+        long next;
+        do {
+            step = interval.get();
+            if (step == baseInterval) {
+                return;
+            }
+            double rate = 1.0 / step + RECOVERY_FACTOR / baseInterval;
+            next = Math.max(baseInterval, (long) (1.0 / rate));
+        } while (!interval.compareAndSet(step, next));
+    }
+
+    /**
+     * Current sustained rate, lower than configured while recovering from rate limiting
+     * @return Permits per second
+     */
+    public double getRate() {
+        return TimeUnit.SECONDS.toNanos(1) / (double) interval.get();
+    }
+}
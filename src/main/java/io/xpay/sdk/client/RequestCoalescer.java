@@ -0,0 +1,147 @@
+package io.xpay.sdk.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical GET requests
+ *
+ * The first caller for a key starts the call; callers arriving while it is in flight wait on the
+ * same call and receive the same response object. A successful response is kept for the cache
+ * duration (if any) and served to later callers; a failure is dropped at once so the next caller
+ * tries again. Each waiter gets its own future: cancelling it detaches that waiter only, and the
+ * shared call is cancelled when its last waiter leaves.
+ */
+final class RequestCoalescer {
+    private final Map<String, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final long cacheNanos;
+    private final Executor cleanupExecutor;
+
+    /**
+     * Create a coalescer
+     * @param cacheMillis - How long a successful response is served to later callers; 0 for no caching
+     * @param cleanupExecutor - Executor that drops cached responses once they expire
+     */
+    RequestCoalescer(long cacheMillis, Executor cleanupExecutor) {
+        this.cacheNanos = TimeUnit.MILLISECONDS.toNanos(cacheMillis);
+        this.cleanupExecutor = cleanupExecutor;
+    }
+
+    /**
+     * Join the call in flight for a key, or start it
+     * @param key - Identity of the request, e.g. its URL and response type
+     * @param call - Starts the call if none is in flight or cached
+     * @return Future of the shared response
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        while (true) {
+            Flight<T> flight = (Flight<T>) flights.get(key);
+            if (flight == null) {
+                Flight<T> created = new Flight<>();
+                if (flights.putIfAbsent(key, created) != null) {
+                    continue;
+                }
+                start(key, created, call);
+                flight = created;
+            } else if (flight.isExpired()) {
+                flights.remove(key, flight);
+                continue;
+            }
+            CompletableFuture<T> waiter = flight.join();
+            if (waiter != null) {
+                return waiter;
+            }
+            flights.remove(key, flight);
+        }
+    }
+
+    private <T> void start(String key, Flight<T> flight, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> shared = flight.shared;
+        shared.whenComplete((value, error) -> {
+            if (error != null || cacheNanos == 0) {
+                flights.remove(key, flight);
+            } else {
+                CompletableFuture.delayedExecutor(cacheNanos, TimeUnit.NANOSECONDS, cleanupExecutor)
+                        .execute(() -> flights.remove(key, flight));
+            }
+        });
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> underlying = started;
+        underlying.whenComplete((value, error) -> {
+            if (error == null) {
+                flight.expiresAt = System.nanoTime() + cacheNanos;
+                shared.complete(value);
+            } else {
+                shared.completeExceptionally(error);
+            }
+        });
+        shared.whenComplete((value, error) -> {
+            if (shared.isCancelled()) {
+                underlying.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Number of distinct requests in flight or cached
+     */
+    int size() {
+        return flights.size();
+    }
+
+    private static final class Flight<T> {
+        private final CompletableFuture<T> shared = new CompletableFuture<>();
+        private volatile long expiresAt;
+        private int waiters;
+        private boolean abandoned;
+
+        /**
+         * @return True once the call failed, or succeeded longer ago than the cache duration; the
+         *         flight may still be mapped until its completion handlers have run
+         */
+        boolean isExpired() {
+            return shared.isDone() && (shared.isCompletedExceptionally() || System.nanoTime() - expiresAt >= 0);
+        }
+
+        /**
+         * @return Future for a new waiter, or null if the flight was abandoned by all its waiters
+         */
+        synchronized CompletableFuture<T> join() {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<T> waiter = new CompletableFuture<>();
+            shared.whenComplete((value, error) -> {
+                if (error == null) {
+                    waiter.complete(value);
+                } else {
+                    waiter.completeExceptionally(error);
+                }
+            });
+            waiter.whenComplete((value, error) -> {
+                if (waiter.isCancelled()) {
+                    leave();
+                }
+            });
+            return waiter;
+        }
+
+        private synchronized void leave() {
+            if (--waiters == 0 && !shared.isDone()) {
+                abandoned = true;
+                shared.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.xpay.sdk.client;
+
+import io.xpay.sdk.exception.XPayValidationException;
+import io.xpay.sdk.model.response.SupportedSymbol;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pre-flight validation of payout and collection requests against the symbol catalog
+ *
+ * Checks that the chain and symbol pair is supported, that the amount lies within its minimum and
+ * maximum, and that it has no more decimal places than the symbol. If the catalog cannot be loaded
+ * the request is let through, since the API validates it anyway.
+ */
+public final class RequestValidator {
+    private final SymbolCatalog catalog;
+
+    /**
+     * Create a validator
+     * @param catalog - Symbol table to validate against
+     */
+    public RequestValidator(SymbolCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Validate a request
+     * @param chain - Blockchain network
+     * @param symbol - Symbol
+     * @param amount - Amount
+     * @throws XPayValidationException if the request would be rejected by the API
+     * @throws InterruptedException if interrupted while the catalog is first loaded
+     */
+    public void validate(String chain, String symbol, Double amount)
+            throws XPayValidationException, InterruptedException {
+        XPayValidationException error = checkRequest(chain, symbol, amount);
+        if (error != null) {
+            throw error;
+        }
+        List<SupportedSymbol> found;
+        try {
+            found = catalog.find(chain, symbol);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            return;
+        }
+        error = checkLimits(chain, symbol, amount, found);
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Validate a request without blocking the calling thread
+     * @param chain - Blockchain network
+     * @param symbol - Symbol
+     * @param amount - Amount
+     * @return Future completing exceptionally with XPayValidationException if the request would be
+     *         rejected by the API; already complete once the catalog is loaded
+     */
+    public CompletableFuture<Void> validateAsync(String chain, String symbol, Double amount) {
+        XPayValidationException error = checkRequest(chain, symbol, amount);
+        if (error != null) {
+            return CompletableFuture.failedFuture(error);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        catalog.lookupAsync(chain, symbol).whenComplete((response, loadError) -> {
+            XPayValidationException invalid = loadError != null
+                    ? null
+                    : checkLimits(chain, symbol, amount, response.getData());
+            if (invalid != null) {
+                result.completeExceptionally(invalid);
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    private static XPayValidationException checkRequest(String chain, String symbol, Double amount) {
+        if (chain == null || chain.isEmpty()) {
+            return new XPayValidationException("Chain is required", "chain", null);
+        }
+        if (symbol == null || symbol.isEmpty()) {
+            return new XPayValidationException("Symbol is required", "symbol", null);
+        }
+        if (amount == null || !Double.isFinite(amount) || amount <= 0) {
+            return new XPayValidationException("Amount must be a positive number: " + amount, "amount", null);
+        }
+        return null;
+    }
+
+    private static XPayValidationException checkLimits(String chain, String symbol, double amount,
+                                                       List<SupportedSymbol> found) {
+        if (found.isEmpty()) {
+            return new XPayValidationException("Unsupported symbol " + symbol + " on chain " + chain, "symbol", null);
+        }
+        SupportedSymbol supported = found.get(0);
+        if (supported.getMinAmount() != null && amount < supported.getMinAmount()) {
+            return new XPayValidationException("Amount " + amount + " is below the minimum of "
+                    + supported.getMinAmount() + " " + symbol, "amount", supported);
+        }
+        if (supported.getMaxAmount() != null && amount > supported.getMaxAmount()) {
+            return new XPayValidationException("Amount " + amount + " is above the maximum of "
+                    + supported.getMaxAmount() + " " + symbol, "amount", supported);
+        }
+        if (supported.getDecimals() != null
+                && BigDecimal.valueOf(amount).stripTrailingZeros().scale() > supported.getDecimals()) {
+            return new XPayValidationException("Amount " + amount + " has more than " + supported.getDecimals()
+                    + " decimal places", "amount", supported);
+        }
+        return null;
+    }
+}
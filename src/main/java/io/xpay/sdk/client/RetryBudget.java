@@ -0,0 +1,81 @@
+package io.xpay.sdk.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry budget shared by all endpoints of a client
+ *
+ * Token bucket in the style of gRPC retry throttling: it starts full, every transient failure
+ * takes one token, and every other outcome returns {@code ratio} tokens. Retries are only allowed
+ * while more than half of the tokens are left, so when most calls are failing (an outage rather
+ * than an occasional reset) the client stops retrying and does not multiply the load on an API
+ * that is already struggling. It refills as calls start succeeding again.
+ *
+ * Tokens are kept in thousandths in a single atomic counter; updates are lock-free.
+ */
+public final class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final AtomicLong tokens;
+    private final long max;
+    private final long threshold;
+    private final long refill;
+
+    /**
+     * Create a retry budget
+     * @param maxTokens - Bucket size; roughly twice the number of consecutive failures that may be
+     *                    retried before retries stop. 0 or less for an unlimited budget
+     * @param ratio - Tokens returned per successful call, e.g. 0.1 to allow about one retry per ten
+     *                successful calls once the bucket is at its threshold
+     */
+    public RetryBudget(int maxTokens, double ratio) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must not be negative");
+        }
+        this.max = Math.max(0, maxTokens) * SCALE;
+        this.threshold = max / 2;
+        this.refill = (long) (ratio * SCALE);
+        this.tokens = new AtomicLong(max);
+    }
+
+    /**
+     * Record a call that completed without a transient failure
+     */
+    public void recordSuccess() {
+        if (max == 0 || refill == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= max) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(max, current + refill)));
+    }
+
+    /**
+     * Record a transient failure and decide whether it may be retried
+     * @return True if the budget allows a retry
+     */
+    public boolean recordFailure() {
+        if (max == 0) {
+            return true;
+        }
+        long current;
+        long next;
+        do {
+            current = tokens.get();
+            next = Math.max(0, current - SCALE);
+        } while (current != next && !tokens.compareAndSet(current, next));
+        return next > threshold;
+    }
+
+    /**
+     * Current number of tokens
+     * @return Tokens left, or -1 for an unlimited budget
+     */
+    public double available() {
+        return max == 0 ? -1 : tokens.get() / (double) SCALE;
+    }
+}
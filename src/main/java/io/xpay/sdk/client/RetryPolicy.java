@@ -0,0 +1,99 @@
+package io.xpay.sdk.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.xpay.sdk.exception.XPayApiException;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for API calls
+ *
+ * A failed call is retried when it failed with a network error (connection reset, timeout, ...)
+ * or an HTTP status in {@code retryableStatusCodes}, up to {@code maxAttempts} attempts
+ * in total. Before attempt n+1 the client waits a random time between zero and
+ * {@code min(maxBackoff, initialBackoff * multiplier^(n-1))} ("full jitter"), so clients that failed
+ * together do not retry together.
+ *
+ * Only operations that are safe to repeat are retried: GET requests always, and payout or
+ * collection creation only when the request carries a merchant orderId the server can de-duplicate.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class RetryPolicy {
+    /**
+     * Policy that never retries
+     */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+    /**
+     * Maximum number of attempts including the first one; 1 disables retries
+     */
+    @Builder.Default
+    private final int maxAttempts = 3;
+
+    /**
+     * Upper bound in milliseconds of the wait before the first retry
+     */
+    @Builder.Default
+    private final long initialBackoff = 100;
+
+    /**
+     * Upper bound in milliseconds of the wait before any retry
+     */
+    @Builder.Default
+    private final long maxBackoff = 5000;
+
+    /**
+     * Growth factor of the backoff bound per attempt
+     */
+    @Builder.Default
+    private final double multiplier = 2.0;
+
+    /**
+     * HTTP status codes that are retried
+     */
+    @Builder.Default
+    private final Set<Integer> retryableStatusCodes = Set.of(429, 502, 503, 504);
+
+    /**
+     * Time to wait before the next attempt
+     * @param attempt - Number of the attempt that just failed, starting at 1
+     * @return Backoff in milliseconds, drawn uniformly from zero to the bound for this attempt
+     */
+    public long backoff(int attempt) {
+        double bound = initialBackoff * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long cap = (long) Math.min(maxBackoff, bound);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Whether a failure is transient under this policy
+     * @param error - Failure of an attempt
+     * @return True for network errors and retryable HTTP statuses; false for API errors,
+     *         unparseable responses and interrupted calls
+     */
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof XPayApiException) {
+            return retryableStatusCodes.contains(((XPayApiException) error).getStatusCode());
+        }
+        return isNetworkError(error) && !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Whether a call failed in the network rather than with a response
+     * @param error - Failure of a call
+     * @return True for I/O errors other than unparseable responses; false for cancelled calls,
+     *         which fail with CancellationException
+     */
+    static boolean isNetworkError(Throwable error) {
+        Throwable cause = error.getCause();
+        return !(error instanceof CancellationException)
+                && cause instanceof IOException
+                && !(cause instanceof JsonProcessingException);
+    }
+}
@@ -0,0 +1,253 @@
+package io.xpay.sdk.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.xpay.sdk.exception.XPayApiException;
+import io.xpay.sdk.model.response.ApiResponse;
+import io.xpay.sdk.model.response.SupportedSymbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local catalog of supported symbols
+ *
+ * The full symbol list is loaded once and indexed by chain, by symbol and by (chain, symbol) in an
+ * immutable snapshot, which is replaced as a whole on refresh; lookups are a single map read. The
+ * first lookup after 80% of the TTL starts a refresh in the background and is still answered from
+ * the current snapshot, so a busy client never waits for the list.
+ * Only a lookup made after the TTL has fully expired waits for the refresh.
+ *
+ * If a refresh fails, the previous snapshot keeps being served and the refresh is retried after a
+ * tenth of the TTL; a lookup fails only if the list was never loaded. Symbols returned are shared
+ * between callers and must be treated as read-only.
+ */
+public final class SymbolCatalog {
+    private static final int REFRESH_AHEAD_PERCENT = 80;
+    private static final TypeReference<ApiResponse<List<SupportedSymbol>>> RESPONSE_TYPE =
+            new TypeReference<ApiResponse<List<SupportedSymbol>>>() {};
+
+    private final ApiClient apiClient;
+    private final long ttl;
+    private final long retryDelay;
+    private final AtomicReference<CompletableFuture<Snapshot>> refreshing = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+    private volatile long retryAt;
+
+    /**
+     * Create an empty catalog; the list is loaded on first use
+     * @param apiClient - Client used to load the list
+     * @param ttlMillis - How long a loaded list is used before it must be refreshed
+     */
+    public SymbolCatalog(ApiClient apiClient, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive");
+        }
+        this.apiClient = apiClient;
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.retryDelay = ttl / 10;
+        this.retryAt = System.nanoTime();
+    }
+
+    /**
+     * Look up a symbol on a chain
+     * @param chain - Blockchain network
+     * @param symbol - Symbol
+     * @return The supported symbol, or null if the pair is not supported
+     * @throws XPayApiException if the API returns an error and no list was loaded yet
+     * @throws Exception if there is a network or parsing error and no list was loaded yet
+     */
+    public SupportedSymbol get(String chain, String symbol) throws Exception {
+        List<SupportedSymbol> found = current().find(chain, symbol);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Look up supported symbols, filtered like the supportSymbols endpoint
+     * @param chain - Optional blockchain network
+     * @param symbol - Optional symbol
+     * @return Unmodifiable list of matching symbols
+     * @throws XPayApiException if the API returns an error and no list was loaded yet
+     * @throws Exception if there is a network or parsing error and no list was loaded yet
+     */
+    public List<SupportedSymbol> find(String chain, String symbol) throws Exception {
+        return current().find(chain, symbol);
+    }
+
+    /**
+     * Look up supported symbols, answered like the supportSymbols endpoint with the code and message
+     * of the response the list was loaded from
+     * @param chain - Optional blockchain network
+     * @param symbol - Optional symbol
+     * @return Response holding an unmodifiable list of matching symbols
+     * @throws XPayApiException if the API returns an error and no list was loaded yet
+     * @throws Exception if there is a network or parsing error and no list was loaded yet
+     */
+    public ApiResponse<List<SupportedSymbol>> lookup(String chain, String symbol) throws Exception {
+        return current().respond(chain, symbol);
+    }
+
+    /**
+     * Look up supported symbols without blocking the calling thread
+     * @param chain - Optional blockchain network
+     * @param symbol - Optional symbol
+     * @return Future of the response holding an unmodifiable list of matching symbols
+     */
+    public CompletableFuture<ApiResponse<List<SupportedSymbol>>> lookupAsync(String chain, String symbol) {
+        return currentAsync().thenApply(current -> current.respond(chain, symbol));
+    }
+
+    /**
+     * Load the list now, e.g. at startup, instead of on first use
+     * @return Future completed once the list is loaded
+     */
+    public CompletableFuture<Void> refresh() {
+        return load().thenApply(loaded -> null);
+    }
+
+    private Snapshot current() throws Exception {
+        Snapshot current = usable();
+        if (current != null) {
+            return current;
+        }
+        try {
+            return currentAsync().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Snapshot> currentAsync() {
+        Snapshot current = usable();
+        if (current != null) {
+            return CompletableFuture.completedFuture(current);
+        }
+        Snapshot stale = snapshot;
+        if (stale == null) {
+            return load();
+        }
+        return load().handle((loaded, error) -> error == null ? loaded : stale);
+    }
+
+    /**
+     * The snapshot, if it may be served without waiting: while it is within its TTL, or while a
+     * failed refresh is waiting to be retried. Starts the refresh-ahead once it is due.
+     * @return Snapshot, or null if the caller must wait for a load
+     */
+    private Snapshot usable() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        long age = now - current.loadedAt;
+        boolean retryDue = now - retryAt >= 0;
+        if (age >= ttl && retryDue) {
+            return null;
+        }
+        if (age >= ttl * REFRESH_AHEAD_PERCENT / 100 && retryDue) {
+            load();
+        }
+        return current;
+    }
+
+    /**
+     * Start a refresh, or join the one in flight
+     */
+    private CompletableFuture<Snapshot> load() {
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        while (true) {
+            CompletableFuture<Snapshot> inFlight = refreshing.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            if (refreshing.compareAndSet(null, created)) {
+                break;
+            }
+        }
+        CompletableFuture<ApiResponse<List<SupportedSymbol>>> call;
+        try {
+            call = apiClient.getAsync(ApiEndpoint.SUPPORTED_SYMBOLS, ApiEndpoint.SUPPORTED_SYMBOLS.getPath(),
+                    null, RESPONSE_TYPE);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((response, error) -> {
+            if (error == null && response.getData() == null) {
+                error = new XPayApiException(response.getMsg() != null ? response.getMsg() : "No symbols returned",
+                        200, response.getCode() != null ? response.getCode() : 0, null);
+            }
+            refreshing.set(null);
+            if (error != null) {
+                retryAt = System.nanoTime() + retryDelay;
+                created.completeExceptionally(error);
+                return;
+            }
+            Snapshot loaded = new Snapshot(response, System.nanoTime());
+            snapshot = loaded;
+            created.complete(loaded);
+        });
+        return created;
+    }
+
+    private static String key(String chain, String symbol) {
+        return (chain != null ? chain : "") + '\n' + (symbol != null ? symbol : "");
+    }
+
+    /**
+     * Immutable index of one loaded list; every filter combination is precomputed
+     */
+    private static final class Snapshot {
+        private final Map<String, List<SupportedSymbol>> index;
+        private final Integer code;
+        private final String msg;
+        private final long loadedAt;
+
+        Snapshot(ApiResponse<List<SupportedSymbol>> response, long loadedAt) {
+            Map<String, List<SupportedSymbol>> building = new HashMap<>();
+            for (SupportedSymbol supported : response.getData()) {
+                if (supported == null) {
+                    continue;
+                }
+                add(building, key(null, null), supported);
+                if (supported.getChain() != null) {
+                    add(building, key(supported.getChain(), null), supported);
+                }
+                if (supported.getSymbol() != null) {
+                    add(building, key(null, supported.getSymbol()), supported);
+                }
+                if (supported.getChain() != null && supported.getSymbol() != null) {
+                    add(building, key(supported.getChain(), supported.getSymbol()), supported);
+                }
+            }
+            Map<String, List<SupportedSymbol>> frozen = new HashMap<>();
+            for (Map.Entry<String, List<SupportedSymbol>> entry : building.entrySet()) {
+                frozen.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+            this.index = Map.copyOf(frozen);
+            this.code = response.getCode();
+            this.msg = response.getMsg();
+            this.loadedAt = loadedAt;
+        }
+
+        private static void add(Map<String, List<SupportedSymbol>> building, String key, SupportedSymbol supported) {
+            building.computeIfAbsent(key, k -> new ArrayList<>()).add(supported);
+        }
+
+        List<SupportedSymbol> find(String chain, String symbol) {
+            return index.getOrDefault(key(chain, symbol), List.of());
+        }
+
+        ApiResponse<List<SupportedSymbol>> respond(String chain, String symbol) {
+            return new ApiResponse<>(code, msg, find(chain, symbol));
+        }
+    }
+}
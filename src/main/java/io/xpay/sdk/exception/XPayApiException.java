@@ -7,6 +7,8 @@ import lombok.Getter;
  */
 @Getter
 public class XPayApiException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     /**
      * HTTP status code
      */
@@ -0,0 +1,63 @@
+package io.xpay.sdk.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a call is refused locally, without being sent to the X-Pay API, because
+ * the endpoint's circuit breaker is open, its concurrency limit is reached, or no rate limit
+ * permit is available in time
+ */
+@Getter
+public class XPayRejectedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Why a call was refused
+     */
+    public enum Reason {
+        /**
+         * The endpoint has been failing or slow and calls are paused to let it recover
+         */
+        CIRCUIT_OPEN,
+
+        /**
+         * The endpoint already has as many calls in flight as its adaptive limit allows
+         */
+        CONCURRENCY_LIMIT,
+
+        /**
+         * No rate limit permit for the endpoint or API key became available within the maximum wait
+         */
+        RATE_LIMITED
+    }
+
+    /**
+     * Why the call was refused
+     */
+    private final Reason reason;
+
+    /**
+     * Endpoint the call was for
+     */
+    private final String endpoint;
+
+    /**
+     * Milliseconds until the circuit lets a trial call through; 0 if unknown
+     */
+    private final long retryAfter;
+
+    /**
+     * Create a new XPayRejectedException
+     * @param reason - Why the call was refused
+     * @param endpoint - Endpoint the call was for
+     * @param retryAfter - Milliseconds until calls may be accepted again; 0 if unknown
+     */
+    public XPayRejectedException(Reason reason, String endpoint, long retryAfter) {
+        super(reason == Reason.CIRCUIT_OPEN ? "Circuit open for " + endpoint
+                : reason == Reason.CONCURRENCY_LIMIT ? "Concurrency limit reached for " + endpoint
+                : "Rate limit reached for " + endpoint);
+        this.reason = reason;
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,28 @@
+package io.xpay.sdk.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a payout or collection request fails local validation against the
+ * supported-symbol table, before it is signed and sent to the X-Pay API
+ */
+@Getter
+public class XPayValidationException extends XPayApiException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Request field that failed validation (amount, chain or symbol)
+     */
+    private final String field;
+
+    /**
+     * Create a new XPayValidationException
+     * @param message - Error message
+     * @param field - Request field that failed validation
+     * @param errorData - Supported symbol the request was checked against, if any
+     */
+    public XPayValidationException(String message, String field, Object errorData) {
+        super(message, 0, 0, errorData);
+        this.field = field;
+    }
+}
@@ -0,0 +1,83 @@
+package io.xpay.sdk.spring;
+
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.model.WebhookNotifyType;
+import io.xpay.sdk.model.webhook.CollectWebhookData;
+import io.xpay.sdk.model.webhook.OrderWebhookData;
+import io.xpay.sdk.webhook.WebhookDispatcher;
+import io.xpay.sdk.webhook.WebhookJournal;
+import io.xpay.sdk.webhook.WebhookReceiver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot auto-configuration
+ *
+ * Exposes an {@link XPay} bean built from {@code xpay.*} properties. In servlet web applications
+ * with {@code xpay.api-secret} set, it also registers the asynchronous webhook endpoint at
+ * {@code xpay.webhook.path}, which publishes a {@link XPayWebhookReceivedEvent} for every
+ * verified callback. A {@link WebhookJournal} bean, if present, is used by the endpoint.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(XPayProperties.class)
+public class XPayAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public XPay xpay(XPayProperties properties) {
+        return new XPay(properties.toConfig());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "jakarta.servlet.ReadListener")
+    @ConditionalOnProperty(prefix = "xpay.webhook", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class WebhookConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "xpay", name = "api-secret")
+        public WebhookDispatcher xpayWebhookDispatcher(XPayProperties properties, ApplicationEventPublisher publisher) {
+            XPayProperties.Webhook webhook = properties.getWebhook();
+            WebhookDispatcher.Builder builder = WebhookDispatcher.builder()
+                    .queueCapacity(webhook.getQueueCapacity());
+            if (webhook.getLanes() > 0) {
+                builder.lanes(webhook.getLanes());
+            }
+            for (WebhookNotifyType type : WebhookNotifyType.values()) {
+                if (type.name().startsWith("ORDER_")) {
+                    builder.onOrder(type, (event, data) ->
+                            publisher.publishEvent(new XPayWebhookReceivedEvent<OrderWebhookData>(publisher, event, data)));
+                } else {
+                    builder.onCollect(type, (event, data) ->
+                            publisher.publishEvent(new XPayWebhookReceivedEvent<CollectWebhookData>(publisher, event, data)));
+                }
+            }
+            return builder.build();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "xpay", name = "api-secret")
+        public ServletRegistrationBean<XPayWebhookServlet> xpayWebhookServlet(XPay xpay, WebhookDispatcher dispatcher,
+                                                                              ObjectProvider<WebhookJournal> journal,
+                                                                              XPayProperties properties) {
+            XPayProperties.Webhook webhook = properties.getWebhook();
+            WebhookReceiver receiver = new WebhookReceiver(xpay, dispatcher, journal.getIfAvailable());
+            ServletRegistrationBean<XPayWebhookServlet> registration = new ServletRegistrationBean<>(
+                    new XPayWebhookServlet(receiver, webhook.getMaxBodySize(), webhook.getTimeout()), webhook.getPath());
+            registration.setName("xpayWebhookServlet");
+            registration.setAsyncSupported(true);
+            registration.setLoadOnStartup(1);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package io.xpay.sdk.spring;
+
+import io.xpay.sdk.XPayConfig;
+import io.xpay.sdk.client.CircuitBreakerConfig;
+import io.xpay.sdk.client.ConcurrencyLimitConfig;
+import io.xpay.sdk.client.HedgePolicy;
+import io.xpay.sdk.client.RateLimiter;
+import io.xpay.sdk.client.RetryPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Spring Boot configuration properties under the {@code xpay} prefix
+ */
+@Data
+@ConfigurationProperties(prefix = "xpay")
+public class XPayProperties {
+    /**
+     * API Key for authentication
+     */
+    private String apiKey;
+
+    /**
+     * API Secret for authentication
+     */
+    private String apiSecret;
+
+    /**
+     * Base URL for API requests
+     */
+    private String baseUrl = "https://api.x-pay.fun";
+
+    /**
+     * Connection timeout in milliseconds
+     */
+    private int connectTimeout = 30000;
+
+    /**
+     * Read timeout in milliseconds
+     */
+    private int readTimeout = 30000;
+
+    /**
+     * Overall call timeout in milliseconds; 0 for none
+     */
+    private int callTimeout = 0;
+
+    /**
+     * Maximum number of concurrent HTTP requests
+     */
+    private int maxRequests = 64;
+
+    /**
+     * Maximum number of concurrent HTTP requests to the API host
+     */
+    private int maxRequestsPerHost = 5;
+
+    /**
+     * Maximum number of idle pooled connections
+     */
+    private int maxIdleConnections = 5;
+
+    /**
+     * Idle connection keep-alive in milliseconds
+     */
+    private long keepAliveDuration = 300000;
+
+    /**
+     * Protocols in order of preference, e.g. h2, http/1.1
+     */
+    private List<String> protocols;
+
+    /**
+     * Reload interval in milliseconds of the local supported-symbol catalog; 0 to call the API every time
+     */
+    private long symbolCatalogTtl = 0;
+
+    /**
+     * Validate payout and collection requests against the symbol catalog before sending them
+     * (requires xpay.symbol-catalog-ttl)
+     */
+    private boolean requestValidation = false;
+
+    /**
+     * Maximum number of orders held by the webhook-fed order state store; 0 to call the API every time
+     */
+    private int orderStateCapacity = 0;
+
+    /**
+     * Milliseconds a pending order state is served before the API is asked again
+     */
+    private long orderStateMaxAge = 10000;
+
+    /**
+     * Reject webhooks whose nonce was already accepted within the timestamp window
+     */
+    private boolean webhookReplayProtection = false;
+
+    /**
+     * Maximum number of webhook nonces remembered for replay protection
+     */
+    private int webhookReplayCapacity = 65536;
+
+    /**
+     * Retry settings of API calls
+     */
+    private final Retry retry = new Retry();
+
+    /**
+     * Per-endpoint circuit breaker settings
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Per-endpoint adaptive concurrency limit settings
+     */
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    /**
+     * Client-side rate limit of the API key
+     */
+    private final RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Hedging of GET requests
+     */
+    private final Hedge hedge = new Hedge();
+
+    /**
+     * Sharing of identical GET requests
+     */
+    private final Coalescing coalescing = new Coalescing();
+
+    /**
+     * Webhook endpoint settings
+     */
+    private final Webhook webhook = new Webhook();
+
+    /**
+     * Build the SDK configuration
+     * @return XPayConfig with these properties
+     */
+    public XPayConfig toConfig() {
+        return XPayConfig.builder()
+                .apiKey(apiKey)
+                .apiSecret(apiSecret)
+                .baseUrl(baseUrl)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .callTimeout(callTimeout)
+                .maxRequests(maxRequests)
+                .maxRequestsPerHost(maxRequestsPerHost)
+                .maxIdleConnections(maxIdleConnections)
+                .keepAliveDuration(keepAliveDuration)
+                .protocols(protocols)
+                .retryPolicy(RetryPolicy.builder()
+                        .maxAttempts(retry.getMaxAttempts())
+                        .initialBackoff(retry.getInitialBackoff())
+                        .maxBackoff(retry.getMaxBackoff())
+                        .build())
+                .retryBudgetTokens(retry.getBudgetTokens())
+                .retryBudgetRatio(retry.getBudgetRatio())
+                .circuitBreaker(circuitBreaker.isEnabled()
+                        ? CircuitBreakerConfig.builder()
+                                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                                .slowCallDuration(circuitBreaker.getSlowCallDuration())
+                                .openDuration(circuitBreaker.getOpenDuration())
+                                .build()
+                        : null)
+                .concurrencyLimit(concurrencyLimit.isEnabled()
+                        ? ConcurrencyLimitConfig.builder()
+                                .initialLimit(concurrencyLimit.getInitialLimit())
+                                .maxLimit(concurrencyLimit.getMaxLimit())
+                                .build()
+                        : null)
+                .apiKeyRateLimiter(rateLimit.getPermitsPerSecond() > 0
+                        ? new RateLimiter(rateLimit.getPermitsPerSecond(), rateLimit.getBurst())
+                        : null)
+                .rateLimitMaxWait(rateLimit.getMaxWait())
+                .hedgePolicy(hedge.isEnabled()
+                        ? HedgePolicy.builder()
+                                .percentile(hedge.getPercentile())
+                                .budgetPercent(hedge.getBudgetPercent())
+                                .build()
+                        : null)
+                .requestCoalescing(coalescing.isEnabled())
+                .coalescingCacheDuration(coalescing.getCacheDuration())
+                .symbolCatalogTtl(symbolCatalogTtl)
+                .requestValidation(requestValidation)
+                .orderStateCapacity(orderStateCapacity)
+                .orderStateMaxAge(orderStateMaxAge)
+                .webhookReplayProtection(webhookReplayProtection)
+                .webhookReplayCapacity(webhookReplayCapacity)
+                .build();
+    }
+
+    /**
+     * Retry settings under {@code xpay.retry}
+     */
+    @Data
+    public static class Retry {
+        /**
+         * Maximum number of attempts per call including the first; 1 disables retries
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Upper bound in milliseconds of the wait before the first retry
+         */
+        private long initialBackoff = 100;
+
+        /**
+         * Upper bound in milliseconds of the wait before any retry
+         */
+        private long maxBackoff = 5000;
+
+        /**
+         * Size of the retry budget; 0 for unlimited
+         */
+        private int budgetTokens = 100;
+
+        /**
+         * Retry budget tokens returned per successful call
+         */
+        private double budgetRatio = 0.1;
+    }
+
+    /**
+     * Circuit breaker settings under {@code xpay.circuit-breaker}
+     */
+    @Data
+    public static class CircuitBreaker {
+        /**
+         * Fail fast on endpoints that keep failing or are slow
+         */
+        private boolean enabled = false;
+
+        /**
+         * Failure rate in percent at which a circuit opens
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Slow call rate in percent at which a circuit opens
+         */
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * Duration in milliseconds above which a call counts as slow
+         */
+        private long slowCallDuration = 10000;
+
+        /**
+         * Time in milliseconds an open circuit refuses calls
+         */
+        private long openDuration = 30000;
+    }
+
+    /**
+     * Concurrency limit settings under {@code xpay.concurrency-limit}
+     */
+    @Data
+    public static class ConcurrencyLimit {
+        /**
+         * Fail fast on calls beyond each endpoint's adaptive limit
+         */
+        private boolean enabled = false;
+
+        /**
+         * Limit before any calls are observed
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Highest limit
+         */
+        private int maxLimit = 200;
+    }
+
+    /**
+     * Rate limit settings under {@code xpay.rate-limit}
+     */
+    @Data
+    public static class RateLimit {
+        /**
+         * Sustained calls per second for the API key; 0 for no client-side limit
+         */
+        private double permitsPerSecond = 0;
+
+        /**
+         * Calls that may be made at once after a quiet period
+         */
+        private int burst = 10;
+
+        /**
+         * Longest time in milliseconds a call waits for a permit; 0 to fail immediately
+         */
+        private long maxWait = 30000;
+    }
+
+    /**
+     * Hedging settings under {@code xpay.hedge}
+     */
+    @Data
+    public static class Hedge {
+        /**
+         * Send a second GET request when the first is slower than usual
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile after which the second request is sent
+         */
+        private double percentile = 95;
+
+        /**
+         * Maximum extra requests, in percent of requests
+         */
+        private int budgetPercent = 10;
+    }
+
+    /**
+     * Request coalescing settings under {@code xpay.coalescing}
+     */
+    @Data
+    public static class Coalescing {
+        /**
+         * Let concurrent identical GET requests share one call
+         */
+        private boolean enabled = false;
+
+        /**
+         * Milliseconds a successful response is also served to later identical requests; 0 for none
+         */
+        private long cacheDuration = 0;
+    }
+
+    /**
+     * Webhook endpoint settings under {@code xpay.webhook}
+     */
+    @Data
+    public static class Webhook {
+        /**
+         * Register the asynchronous webhook endpoint (requires xpay.api-secret)
+         */
+        private boolean enabled = true;
+
+        /**
+         * Path X-Pay posts callbacks to
+         */
+        private String path = "/xpay/webhook";
+
+        /**
+         * Largest accepted request body in bytes
+         */
+        private int maxBodySize = 1024 * 1024;
+
+        /**
+         * Maximum time in milliseconds to receive and answer a request; a request not answered in
+         * time gets 503 with Retry-After
+         */
+        private long timeout = 30000;
+
+        /**
+         * Maximum number of events queued or being handled before callbacks get 503
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Number of serial dispatch lanes; 0 for 4 x available processors
+         */
+        private int lanes = 0;
+    }
+}
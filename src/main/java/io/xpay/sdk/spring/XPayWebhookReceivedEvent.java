@@ -0,0 +1,57 @@
+package io.xpay.sdk.spring;
+
+import io.xpay.sdk.model.WebhookNotifyType;
+import io.xpay.sdk.model.webhook.WebhookEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Application event published for each verified webhook
+ *
+ * The type parameter is the webhook data class, so listeners can subscribe to one kind of
+ * notification:
+ * <pre>
+ * &#64;EventListener
+ * public void onOrder(XPayWebhookReceivedEvent&lt;OrderWebhookData&gt; event) { ... }
+ * </pre>
+ * Events for the same order are published one at a time, in the order they were received.
+ *
+ * @param <T> - OrderWebhookData or CollectWebhookData
+ */
+public class XPayWebhookReceivedEvent<T> extends ApplicationEvent implements ResolvableTypeProvider {
+    private static final long serialVersionUID = 1L;
+
+    private final WebhookEvent event;
+    private final T data;
+
+    /**
+     * Create the application event
+     * @param source - Publishing component
+     * @param event - Verified webhook event
+     * @param data - Typed webhook data
+     */
+    public XPayWebhookReceivedEvent(Object source, WebhookEvent event, T data) {
+        super(source);
+        this.event = event;
+        this.data = data;
+    }
+
+    public WebhookEvent getEvent() {
+        return event;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public WebhookNotifyType getNotifyType() {
+        return event.getNotifyType();
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(),
+                data != null ? ResolvableType.forInstance(data) : ResolvableType.forClass(Object.class));
+    }
+}
@@ -0,0 +1,210 @@
+package io.xpay.sdk.spring;
+
+import io.xpay.sdk.webhook.WebhookReceiver;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking webhook endpoint
+ *
+ * Uses servlet async I/O: the body is collected by a {@link ReadListener} as the container reports
+ * data available, so no request thread is parked on a slow client. The complete body is handed to
+ * an executor for verification and journaling, which may wait for the journal's fsync, and the
+ * verified event is queued on a dispatcher rather than handled inline, so no container thread
+ * waits for disk or handlers either. Statuses follow {@link WebhookReceiver}, plus 413 for
+ * oversized bodies and 503 with Retry-After for a request not answered within the timeout.
+ */
+public class XPayWebhookServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_BUFFER = 1024;
+    private static final int DEFAULT_THREADS = 32;
+
+    private final transient WebhookReceiver receiver;
+    private final transient Executor executor;
+    private final transient ExecutorService ownedExecutor;
+    private final int maxBodySize;
+    private final long timeout;
+
+    /**
+     * Create the servlet with its own executor: a virtual thread per request on Java 21+, otherwise
+     * a fixed pool of daemon threads; it is shut down when the servlet is destroyed
+     * @param receiver - Receiver verifying and queueing callbacks
+     * @param maxBodySize - Largest accepted request body in bytes
+     * @param timeout - Maximum time in milliseconds to receive and answer a request
+     */
+    public XPayWebhookServlet(WebhookReceiver receiver, int maxBodySize, long timeout) {
+        this(receiver, maxBodySize, timeout, null);
+    }
+
+    /**
+     * Create the servlet
+     * @param receiver - Receiver verifying and queueing callbacks
+     * @param maxBodySize - Largest accepted request body in bytes
+     * @param timeout - Maximum time in milliseconds to receive and answer a request
+     * @param executor - Executor running the receiver; not shut down by the servlet. Null for the default
+     */
+    public XPayWebhookServlet(WebhookReceiver receiver, int maxBodySize, long timeout, Executor executor) {
+        this.receiver = receiver;
+        this.maxBodySize = maxBodySize;
+        this.timeout = timeout;
+        this.ownedExecutor = executor == null ? defaultExecutor() : null;
+        this.executor = executor != null ? executor : ownedExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        super.destroy();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length > maxBodySize) {
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeout);
+        ServletInputStream in = request.getInputStream();
+        int expected = length > 0 ? (int) length : Math.min(INITIAL_BUFFER, maxBodySize);
+        BodyReader reader = new BodyReader(async, in, expected);
+        async.addListener(reader);
+        in.setReadListener(reader);
+    }
+
+    /**
+     * Virtual thread per request on Java 21+, otherwise a fixed pool of daemon threads
+     */
+    private static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(DEFAULT_THREADS, new DaemonThreadFactory());
+        }
+    }
+
+    /**
+     * Collects the body, hands it to the receiver and answers the request exactly once, whichever of
+     * the receiver, a read error or the timeout comes first
+     */
+    private final class BodyReader implements ReadListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletInputStream in;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private byte[] body;
+        private int size;
+
+        BodyReader(AsyncContext async, ServletInputStream in, int expected) {
+            this.async = async;
+            this.in = in;
+            this.body = new byte[expected];
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            while (!done.get() && in.isReady()) {
+                if (size == body.length) {
+                    if (size >= maxBodySize) {
+                        // Probe for one more byte before deciding the body is too large
+                        int next = in.read();
+                        if (next < 0) {
+                            return;
+                        }
+                        finish(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                        return;
+                    }
+                    body = Arrays.copyOf(body, (int) Math.min((long) size * 2, maxBodySize));
+                }
+                int read = in.read(body, size, body.length - size);
+                if (read < 0) {
+                    return;
+                }
+                size += read;
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (done.get()) {
+                return;
+            }
+            byte[] received = size == body.length ? body : Arrays.copyOf(body, size);
+            try {
+                executor.execute(() -> {
+                    // Skip a body whose request timed out while it waited for a thread
+                    if (!done.get()) {
+                        finish(receiver.receive(received));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                finish(WebhookReceiver.OVERLOADED);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            finish(HttpServletResponse.SC_BAD_REQUEST);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(WebhookReceiver.OVERLOADED);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(HttpServletResponse.SC_BAD_REQUEST);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            done.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish(int status) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) async.getResponse();
+            response.setStatus(status);
+            if (status == WebhookReceiver.OVERLOADED) {
+                response.setHeader("Retry-After", "1");
+            }
+            async.complete();
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "xpay-webhook-servlet-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.xpay.sdk.util;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cached, key-sorted property accessors for signing a request bean without converting it to a Map
+ *
+ * A layout is only built for classes whose Jackson serialization is a plain {@link BeanSerializer}
+ * over scalar properties that serialize to the same text as their {@code toString()}, so that
+ * writing the properties directly yields the same canonical string as
+ * {@code ObjectMapper.convertValue(bean, Map.class)}. Everything else uses the Map path.
+ */
+final class BeanLayout {
+    private static final BeanLayout UNSUPPORTED = new BeanLayout(new byte[0][], new BeanPropertyWriter[0]);
+
+    /**
+     * Property types whose converted Map value prints the same as the bean value
+     */
+    private static final Set<Class<?>> SCALAR_TYPES = Set.of(
+            String.class, Boolean.class, Boolean.TYPE,
+            Integer.class, Integer.TYPE, Long.class, Long.TYPE,
+            Short.class, Short.TYPE, Byte.class, Byte.TYPE,
+            Double.class, Double.TYPE);
+
+    private static final ClassValue<BeanLayout> LAYOUTS = new ClassValue<BeanLayout>() {
+        @Override
+        protected BeanLayout computeValue(Class<?> type) {
+            try {
+                return introspect(SignatureUtil.objectMapper, type);
+            } catch (Exception e) {
+                return UNSUPPORTED;
+            }
+        }
+    };
+
+    /**
+     * UTF-8 encoded "name=" prefixes, sorted by property name
+     */
+    final byte[][] names;
+
+    /**
+     * Property accessors in the same order as {@link #names}
+     */
+    final BeanPropertyWriter[] properties;
+
+    private BeanLayout(byte[][] names, BeanPropertyWriter[] properties) {
+        this.names = names;
+        this.properties = properties;
+    }
+
+    /**
+     * Find the cached layout for a class
+     * @param type - Bean class
+     * @return Layout, or null if the class must be signed through the Map conversion
+     */
+    static BeanLayout forClass(Class<?> type) {
+        BeanLayout layout = LAYOUTS.get(type);
+        return layout == UNSUPPORTED ? null : layout;
+    }
+
+    private static BeanLayout introspect(ObjectMapper mapper, Class<?> type) throws JsonMappingException {
+        if (type.isArray() || type.isEnum() || type.isPrimitive() || type.getName().startsWith("java.")) {
+            return UNSUPPORTED;
+        }
+        JsonSerializer<Object> serializer = mapper.getSerializerProviderInstance()
+                .findTypedValueSerializer(type, true, null);
+        if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId()) {
+            return UNSUPPORTED;
+        }
+
+        SerializationConfig config = mapper.getSerializationConfig();
+        BeanDescription description = config.introspect(mapper.constructType(type));
+        if (description.findAnyGetter() != null
+                || config.getAnnotationIntrospector().findFilterId(description.getClassInfo()) != null) {
+            return UNSUPPORTED;
+        }
+
+        List<BeanPropertyWriter> writers = new ArrayList<>();
+        for (Iterator<PropertyWriter> it = serializer.properties(); it.hasNext(); ) {
+            PropertyWriter property = it.next();
+            if (property.getClass() != BeanPropertyWriter.class) {
+                return UNSUPPORTED;
+            }
+            BeanPropertyWriter writer = (BeanPropertyWriter) property;
+            // Resolved properties carry Jackson's own scalar serializers; anything else is custom
+            if ((writer.hasSerializer() && !ClassUtil.isJacksonStdImpl(writer.getSerializer()))
+                    || writer.willSuppressNulls()
+                    || writer.getViews() != null
+                    || writer.getAnnotation(JsonFormat.class) != null
+                    || writer.getAnnotation(JsonRawValue.class) != null
+                    || !SCALAR_TYPES.contains(writer.getType().getRawClass())) {
+                return UNSUPPORTED;
+            }
+            writers.add(writer);
+        }
+        writers.sort(Comparator.comparing(BeanPropertyWriter::getName));
+
+        byte[][] names = new byte[writers.size()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (writers.get(i).getName() + "=").getBytes(StandardCharsets.UTF_8);
+        }
+        return new BeanLayout(names, writers.toArray(new BeanPropertyWriter[0]));
+    }
+}
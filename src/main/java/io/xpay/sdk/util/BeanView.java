@@ -0,0 +1,25 @@
+package io.xpay.sdk.util;
+
+import java.util.Map;
+
+/**
+ * Request bean paired with its cached layout, signed as if it were the Map Jackson would convert it to
+ */
+final class BeanView {
+    final BeanLayout layout;
+    final Object bean;
+
+    BeanView(BeanLayout layout, Object bean) {
+        this.layout = layout;
+        this.bean = bean;
+    }
+
+    /**
+     * Materialize the Map form, for the rare positions that need the legacy toString() format
+     * @return Map of key-value pairs
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> toMap() {
+        return SignatureUtil.objectMapper.convertValue(bean, Map.class);
+    }
+}
@@ -0,0 +1,391 @@
+package io.xpay.sdk.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Single-pass writer for the canonical signature string.
+ *
+ * Walks the parameter structure once, sorting each map's entries in a scratch array,
+ * and encodes the canonical form as UTF-8 straight into a reusable byte buffer.
+ * The output is byte-identical to the original sorted-copy/stream implementation:
+ * <ul>
+ *     <li>top level: {@code key=value} pairs joined with {@code &}, null values written as empty</li>
+ *     <li>maps: {@code {key=value,...}} sorted by key, null values written as {@code null}</li>
+ *     <li>collections inside maps: {@code [item,...]}</li>
+ *     <li>collections at the top level: {@code toString()} form of the sorted copy</li>
+ * </ul>
+ * Request beans wrapped in a {@link BeanView} are written through their cached layout, and parsed
+ * {@link JsonNode} trees are walked directly, both as if they were the Map that Jackson would
+ * bind them to.
+ * Instances are not thread-safe; use {@link #acquire()} to borrow the per-thread instance.
+ */
+final class CanonicalWriter {
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final Comparator<Map.Entry<?, ?>> KEY_ORDER =
+            (a, b) -> String.valueOf(a.getKey()).compareTo(String.valueOf(b.getKey()));
+    private static final ThreadLocal<CanonicalWriter> LOCAL = ThreadLocal.withInitial(CanonicalWriter::new);
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes();
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+    private boolean inUse;
+
+    /**
+     * Borrow the writer bound to the current thread
+     * @return Empty writer; must be handed back with {@link #release()}
+     */
+    static CanonicalWriter acquire() {
+        CanonicalWriter writer = LOCAL.get();
+        if (writer.inUse) {
+            // Re-entrant use (e.g. a toString() that signs); fall back to a private instance
+            return new CanonicalWriter();
+        }
+        writer.inUse = true;
+        writer.size = 0;
+        return writer;
+    }
+
+    /**
+     * Return the writer, dropping oversized buffers so one large payload does not pin memory
+     */
+    void release() {
+        inUse = false;
+        size = 0;
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Write the top-level signature parameters
+     * @param params - Parameters to include in the signature
+     */
+    void writeParams(Map<String, ?> params) {
+        Map.Entry<?, ?>[] entries = sortedEntries(params.entrySet());
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0) {
+                writeByte('&');
+            }
+            writeString(String.valueOf(entries[i].getKey()));
+            writeByte('=');
+            Object value = entries[i].getValue();
+            if (value instanceof JsonNode) {
+                JsonNode node = (JsonNode) value;
+                if (node.isObject()) {
+                    writeByte('{');
+                    writeObjectNode(node);
+                    writeByte('}');
+                    continue;
+                }
+                value = toJava(node);
+            }
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Map) {
+                writeByte('{');
+                writeMap((Map<?, ?>) value);
+                writeByte('}');
+            } else if (value instanceof BeanView) {
+                writeByte('{');
+                writeBean((BeanView) value);
+                writeByte('}');
+            } else if (value instanceof Collection) {
+                writeLegacyCollection((Collection<?>) value);
+            } else {
+                writeScalar(value);
+            }
+        }
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        Map.Entry<?, ?>[] entries = sortedEntries(map.entrySet());
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeString(String.valueOf(entries[i].getKey()));
+            writeByte('=');
+            Object value = entries[i].getValue();
+            if (value instanceof Map) {
+                writeByte('{');
+                writeMap((Map<?, ?>) value);
+                writeByte('}');
+            } else if (value instanceof BeanView) {
+                writeByte('{');
+                writeBean((BeanView) value);
+                writeByte('}');
+            } else if (value instanceof JsonNode) {
+                writeMemberNode((JsonNode) value);
+            } else if (value instanceof Collection) {
+                writeByte('[');
+                writeCollection((Collection<?>) value);
+                writeByte(']');
+            } else {
+                writeScalar(value);
+            }
+        }
+    }
+
+    private void writeCollection(Collection<?> collection) {
+        boolean first = true;
+        for (Object item : collection) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            if (item instanceof Map) {
+                writeByte('{');
+                writeMap((Map<?, ?>) item);
+                writeByte('}');
+            } else if (item instanceof BeanView) {
+                writeByte('{');
+                writeBean((BeanView) item);
+                writeByte('}');
+            } else if (item instanceof JsonNode) {
+                writeItemNode((JsonNode) item);
+            } else {
+                writeScalar(item);
+            }
+        }
+    }
+
+    /**
+     * Write a parsed object node as if it were the LinkedHashMap Jackson would bind it to
+     */
+    private void writeObjectNode(JsonNode node) {
+        Map.Entry<?, ?>[] entries = sortedEntries(node.properties());
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeString((String) entries[i].getKey());
+            writeByte('=');
+            writeMemberNode((JsonNode) entries[i].getValue());
+        }
+    }
+
+    private void writeMemberNode(JsonNode node) {
+        if (node.isObject()) {
+            writeByte('{');
+            writeObjectNode(node);
+            writeByte('}');
+        } else if (node.isArray()) {
+            writeByte('[');
+            boolean first = true;
+            for (JsonNode item : node) {
+                if (!first) {
+                    writeByte(',');
+                }
+                first = false;
+                writeItemNode(item);
+            }
+            writeByte(']');
+        } else {
+            writeValueNode(node);
+        }
+    }
+
+    private void writeItemNode(JsonNode node) {
+        if (node.isObject()) {
+            writeByte('{');
+            writeObjectNode(node);
+            writeByte('}');
+        } else if (node.isArray()) {
+            // Nested lists were printed with toString() of the bound ArrayList
+            writeScalar(toJava(node));
+        } else {
+            writeValueNode(node);
+        }
+    }
+
+    private void writeValueNode(JsonNode node) {
+        if (node.isTextual()) {
+            writeString(node.textValue());
+        } else if (node.isInt() || node.isLong()) {
+            writeLong(node.longValue());
+        } else if (node.isNull() || node.isMissingNode()) {
+            writeString("null");
+        } else {
+            writeScalar(toJava(node));
+        }
+    }
+
+    private static Object toJava(JsonNode node) {
+        return SignatureUtil.objectMapper.convertValue(node, Object.class);
+    }
+
+    /**
+     * Top-level collections were historically appended with toString() after their map
+     * items had been copied into TreeMaps, so they use the ", " separated AbstractCollection
+     * and AbstractMap formats with sorted keys.
+     */
+    private void writeLegacyCollection(Collection<?> collection) {
+        writeByte('[');
+        boolean first = true;
+        for (Object item : collection) {
+            if (!first) {
+                writeByte(',');
+                writeByte(' ');
+            }
+            first = false;
+            if (item instanceof Map) {
+                writeLegacyMap((Map<?, ?>) item);
+            } else if (item instanceof BeanView) {
+                writeLegacyMap(((BeanView) item).toMap());
+            } else {
+                writeScalar(item);
+            }
+        }
+        writeByte(']');
+    }
+
+    private void writeLegacyMap(Map<?, ?> map) {
+        writeByte('{');
+        Map.Entry<?, ?>[] entries = sortedEntries(map.entrySet());
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+                writeByte(' ');
+            }
+            writeString(String.valueOf(entries[i].getKey()));
+            writeByte('=');
+            Object value = entries[i].getValue();
+            if (value instanceof Map) {
+                writeLegacyMap((Map<?, ?>) value);
+            } else if (value instanceof BeanView) {
+                writeLegacyMap(((BeanView) value).toMap());
+            } else if (value instanceof Collection) {
+                writeLegacyCollection((Collection<?>) value);
+            } else {
+                writeScalar(value);
+            }
+        }
+        writeByte('}');
+    }
+
+    private void writeBean(BeanView view) {
+        BeanLayout layout = view.layout;
+        for (int i = 0; i < layout.properties.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeBytes(layout.names[i]);
+            Object value;
+            try {
+                value = layout.properties[i].get(view.bean);
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot read property " + layout.properties[i].getName(), e);
+            }
+            writeScalar(value);
+        }
+    }
+
+    private static Map.Entry<?, ?>[] sortedEntries(Collection<? extends Map.Entry<?, ?>> entrySet) {
+        Map.Entry<?, ?>[] entries = entrySet.toArray(new Map.Entry<?, ?>[0]);
+        if (entries.length > 1) {
+            Arrays.sort(entries, KEY_ORDER);
+        }
+        return entries;
+    }
+
+    private void writeScalar(Object value) {
+        if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Long || value instanceof Integer) {
+            writeLong(((Number) value).longValue());
+        } else {
+            writeString(String.valueOf(value));
+        }
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = size + digits;
+        size = pos;
+        do {
+            buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    /**
+     * Encode a string as UTF-8, matching String.getBytes(UTF_8) including '?' for lone surrogates
+     */
+    private void writeString(String s) {
+        int length = s.length();
+        ensureCapacity(length * 3);
+        byte[] buf = buffer;
+        int pos = size;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xc0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < length ? s.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int cp = Character.toCodePoint(c, low);
+                    i++;
+                    buf[pos++] = (byte) (0xf0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    buf[pos++] = '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xe0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        size = pos;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.xpay.sdk.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * HMAC-SHA256 signer bound to a single API secret
+ *
+ * The key is scheduled once into a prototype Mac; each thread gets its own clone of the
+ * initialized prototype, so signing never repeats the provider lookup or key setup.
+ * Instances are thread-safe and intended to be shared for the lifetime of the secret.
+ */
+public final class HmacSigner {
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private final SecretKeySpec secretKey;
+    private final Mac prototype;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Create a signer for the given secret
+     * @param apiSecret - API secret key
+     */
+    public HmacSigner(String apiSecret) {
+        if (apiSecret == null) {
+            throw new IllegalArgumentException("apiSecret must not be null");
+        }
+        this.secretKey = new SecretKeySpec(apiSecret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        this.prototype = newMac();
+        this.macs = ThreadLocal.withInitial(this::copyPrototype);
+    }
+
+    /**
+     * Sign parameters with the canonical signature format
+     * @param params - Parameters to include in the signature
+     * @return Hex-encoded HMAC-SHA256 signature
+     */
+    public String sign(Map<String, Object> params) {
+        return SignatureUtil.bytesToHex(signToBytes(params));
+    }
+
+    /**
+     * Sign parameters with the canonical signature format
+     * @param params - Parameters to include in the signature
+     * @return Raw HMAC-SHA256 bytes
+     */
+    public byte[] signToBytes(Map<String, Object> params) {
+        CanonicalWriter writer = CanonicalWriter.acquire();
+        try {
+            writer.writeParams(params);
+            return mac(writer.buffer(), 0, writer.size());
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Verify a hex-encoded signature against the canonical signature of the parameters
+     *
+     * The signature is decoded to raw bytes and compared with the Mac output in constant time,
+     * so no expected hex string is built.
+     * @param params - Parameters included in the signature
+     * @param signature - Hex-encoded signature to check
+     * @return True if the signature matches
+     */
+    public boolean verify(Map<String, Object> params, String signature) {
+        byte[] provided = SignatureUtil.hexToBytes(signature, MAC_LENGTH);
+        if (provided == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(signToBytes(params), provided);
+    }
+
+    /**
+     * Calculate the HMAC of a byte range
+     * @param data - Data to sign
+     * @param offset - Start of the range
+     * @param length - Length of the range
+     * @return Raw HMAC-SHA256 bytes
+     */
+    public byte[] mac(byte[] data, int offset, int length) {
+        Mac mac = macs.get();
+        // A previous call may have failed between update and doFinal
+        mac.reset();
+        mac.update(data, offset, length);
+        return mac.doFinal();
+    }
+
+    private Mac copyPrototype() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            // Provider does not support cloning; fall back to a freshly initialized instance
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
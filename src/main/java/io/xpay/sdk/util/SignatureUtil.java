@@ -1,21 +1,33 @@
 package io.xpay.sdk.util;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Utility class for generating and verifying signatures
  */
 public class SignatureUtil {
     private static final String HMAC_SHA256 = "HmacSHA256";
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
 
     /**
      * Generate signature for API requests and webhook verification
@@ -24,75 +36,63 @@ public class SignatureUtil {
      * @return HMAC-SHA256 signature
      */
     public static String generateSignature(Map<String, Object> params, String apiSecret) {
+        CanonicalWriter writer = CanonicalWriter.acquire();
         try {
-            Map<String, Object> sortedParams = sortMapRecursively(params);
-
-            String signatureString = sortedParams.entrySet().stream()
-                .map(entry -> formatParameter(entry.getKey(),  entry.getValue()))
-                .collect(Collectors.joining("&"));
+            writer.writeParams(params);
 
             // Calculate HMAC-SHA256 signature
-            return hmacSha256(signatureString, apiSecret);
+            return hmacSha256(writer.buffer(), writer.size(), apiSecret);
         } catch (Exception e) {
             throw new RuntimeException("Error generating signature", e);
+        } finally {
+            writer.release();
         }
     }
 
-    private static Map<String, Object> sortMapRecursively(Map<String, Object> map) {
-        Map<String, Object> sortedMap = new TreeMap<>();
-        map.forEach((key,  value) -> {
-            if (value instanceof Map) {
-                sortedMap.put(key,  sortMapRecursively((Map<String, Object>) value));
-            } else if (value instanceof Collection) {
-                List<Object> sortedList = ((Collection<?>) value).stream()
-                    .map(item -> item instanceof Map ?
-                        sortMapRecursively((Map<String, Object>) item) : item)
-                    .collect(Collectors.toList());
-                sortedMap.put(key,  sortedList);
-            } else {
-                sortedMap.put(key,  value);
-            }
-        });
-        return sortedMap;
+    /**
+     * Generate signature using a pre-keyed signer
+     * @param params - Parameters to include in the signature
+     * @param signer - Signer bound to the API secret
+     * @return HMAC-SHA256 signature
+     */
+    public static String generateSignature(Map<String, Object> params, HmacSigner signer) {
+        try {
+            return signer.sign(params);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating signature", e);
+        }
     }
 
-    private static String formatParameter(String key, Object value) {
-        if (value == null) {
-            return key + "=";
+    /**
+     * Verify a signature using a pre-keyed signer
+     * @param params - Parameters included in the signature
+     * @param signature - Hex-encoded signature to check
+     * @param signer - Signer bound to the API secret
+     * @return True if the signature matches
+     */
+    public static boolean verifySignature(Map<String, Object> params, String signature, HmacSigner signer) {
+        try {
+            return signer.verify(params, signature);
+        } catch (Exception e) {
+            throw new RuntimeException("Error verifying signature", e);
         }
-        return key + "=" + (value instanceof Map ? "{" + formatMap((Map<?, ?>) value) + "}" : value);
     }
 
-    private static String formatMap(Map<?, ?> map) {
-        return map.entrySet().stream()
-            .sorted(Comparator.comparing(e -> String.valueOf(e.getKey())))  // Sort by key as string
-            .map(e -> {
-                Object value = e.getValue();
-                if (value instanceof Map) {
-                    return e.getKey() + "={" + formatMap((Map<?, ?>) value) + "}";
-                } else if (value instanceof Collection) {
-                    return e.getKey() + "=[" + formatCollection((Collection<?>) value) + "]";
-                } else {
-                    return e.getKey() + "=" + value;
-                }
-            })
-            .collect(Collectors.joining(","));
-    }
-    
-    private static String formatCollection(Collection<?> collection) {
-        return collection.stream()
-            .map(item -> {
-                if (item instanceof Map) {
-                    return "{" + formatMap((Map<?, ?>) item) + "}";
-                } else {
-                    return String.valueOf(item);
-                }
-            })
-            .collect(Collectors.joining(","));
+    /**
+     * Build the UTF-8 encoded canonical string that is signed for the given parameters
+     * @param params - Parameters to include in the signature
+     * @return Canonical signature bytes
+     */
+    static byte[] canonicalBytes(Map<String, Object> params) {
+        CanonicalWriter writer = CanonicalWriter.acquire();
+        try {
+            writer.writeParams(params);
+            return Arrays.copyOf(writer.buffer(), writer.size());
+        } finally {
+            writer.release();
+        }
     }
 
-
-
     /**
      * Convert data object to map for signature generation
      * @param data - Data object
@@ -111,18 +111,40 @@ public class SignatureUtil {
         }
     }
 
+    /**
+     * Prepare a data object for signature generation without a Map round trip where possible
+     *
+     * Request beans with a plain scalar property layout (e.g. PayoutRequest, CollectionRequest)
+     * are returned as a view that is written directly from cached, sorted property accessors;
+     * Maps are returned as-is and any other object goes through {@link #convertDataToMap(Object)}.
+     * @param data - Data object
+     * @return Value to put under "data" in the signature parameters
+     */
+    public static Object prepareSignatureData(Object data) {
+        if (data == null || data instanceof Map) {
+            return convertDataToMap(data);
+        }
+        BeanLayout layout = BeanLayout.forClass(data.getClass());
+        if (layout != null) {
+            return new BeanView(layout, data);
+        }
+        return convertDataToMap(data);
+    }
+
     /**
      * Calculate HMAC-SHA256 signature
-     * @param data - Data to sign
+     * @param data - UTF-8 encoded data to sign
+     * @param length - Number of bytes of data to sign
      * @param key - Secret key
      * @return Hex-encoded signature
      */
-    private static String hmacSha256(String data, String key) throws Exception {
+    private static String hmacSha256(byte[] data, int length, String key) throws Exception {
         Mac sha256Hmac = Mac.getInstance(HMAC_SHA256);
         SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
         sha256Hmac.init(secretKey);
-        
-        byte[] hmacBytes = sha256Hmac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+
+        sha256Hmac.update(data, 0, length);
+        byte[] hmacBytes = sha256Hmac.doFinal();
         return bytesToHex(hmacBytes);
     }
 
@@ -131,16 +153,39 @@ public class SignatureUtil {
      * @param bytes - Byte array
      * @return Hex string
      */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+    static String bytesToHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            hex[i * 2] = HEX_DIGITS[b >>> 4];
+            hex[i * 2 + 1] = HEX_DIGITS[b & 0x0f];
+        }
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decode a hex string of a known length
+     * @param hex - Hex string (upper or lower case)
+     * @param length - Expected number of decoded bytes
+     * @return Decoded bytes, or null if the string is not exactly that many hex-encoded bytes
+     */
+    static byte[] hexToBytes(String hex, int length) {
+        if (hex == null || hex.length() != length * 2) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        int invalid = 0;
+        for (int i = 0; i < length; i++) {
+            int hi = hexValue(hex.charAt(i * 2));
+            int lo = hexValue(hex.charAt(i * 2 + 1));
+            invalid |= hi | lo;
+            bytes[i] = (byte) ((hi << 4) | lo);
         }
-        return hexString.toString();
+        return invalid < 0 ? null : bytes;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
     }
 
     /**
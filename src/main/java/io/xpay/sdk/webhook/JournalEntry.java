@@ -0,0 +1,46 @@
+package io.xpay.sdk.webhook;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Webhook delivery read back from a {@link WebhookJournal}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry {
+    /**
+     * Sequence number assigned when the delivery was appended
+     */
+    private long sequence;
+
+    /**
+     * Time the delivery was appended (milliseconds since epoch)
+     */
+    private long receivedAt;
+
+    /**
+     * Raw webhook request body
+     */
+    private byte[] body;
+
+    /**
+     * Signature from webhook, or null if it was taken from the body
+     */
+    private String signature;
+
+    /**
+     * Timestamp from webhook, or null if it was taken from the body
+     */
+    private String timestamp;
+
+    /**
+     * Convert to a delivery for XPay.parseWebhooks
+     * @return Delivery
+     */
+    public WebhookDelivery toDelivery() {
+        return new WebhookDelivery(body, signature, timestamp);
+    }
+}
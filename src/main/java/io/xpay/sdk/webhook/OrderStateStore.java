@@ -0,0 +1,173 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.model.OrderStatus;
+import io.xpay.sdk.model.response.ApiResponse;
+import io.xpay.sdk.model.response.OrderDetails;
+import io.xpay.sdk.model.webhook.OrderWebhookData;
+import io.xpay.sdk.model.webhook.WebhookTransaction;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-process store of order states, fed from ORDER_* webhooks and order status responses
+ *
+ * An order only moves forward: PENDING, then PENDING_CONFIRMATION, then one of the terminal states
+ * SUCCESS, FAILED or EXPIRED. An update that would move an order back, or away from a terminal
+ * state, is ignored, so webhooks delivered out of order or a status response that raced a webhook
+ * cannot regress it. Updates within the same state are applied only if they are newer.
+ *
+ * A terminal state is final and always served from the store; a pending state only until it is
+ * older than the maximum age, after which the caller should ask the API. Lookups are a single
+ * concurrent map read. When the store is full, the oldest terminal orders are evicted first, and
+ * pending orders only if no terminal ones are left. Order details returned are shared between
+ * callers and must be treated as read-only.
+ */
+public final class OrderStateStore {
+    private static final int SUCCESS_CODE = 200;
+    private static final String SUCCESS_MSG = "Success";
+    private static final long LIVE_WEBHOOK_MILLIS = 30_000;
+
+    private final Map<String, Entry> orders = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Boolean> pendingOrder = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Boolean> terminalOrder = new LinkedHashMap<>();
+    private final int capacity;
+    private final long maxAge;
+
+    /**
+     * Create an empty store
+     * @param capacity - Maximum number of orders held
+     * @param maxAgeMillis - How long a pending state is served before the API must be asked again
+     */
+    public OrderStateStore(int capacity, long maxAgeMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.maxAge = maxAgeMillis;
+    }
+
+    /**
+     * Look up an order whose state can be served without calling the API
+     * @param orderId - Order ID
+     * @return Response shaped like the order status endpoint's, or null if the order is unknown or
+     *         its pending state is older than the maximum age
+     */
+    public ApiResponse<OrderDetails> lookup(String orderId) {
+        Entry entry = orderId != null ? orders.get(orderId) : null;
+        if (entry == null || !entry.terminal && System.currentTimeMillis() - entry.reportedAt >= maxAge) {
+            return null;
+        }
+        return new ApiResponse<>(SUCCESS_CODE, SUCCESS_MSG, entry.details);
+    }
+
+    /**
+     * Apply an order webhook. A webhook sent within the last 30 seconds counts as received now; an
+     * older one, e.g. a stored delivery being replayed, counts as of its timestamp.
+     * @param data - Order data of the webhook
+     * @param timestamp - Webhook timestamp in seconds
+     */
+    public void update(OrderWebhookData data, long timestamp) {
+        if (data == null || data.getOrderId() == null || data.getStatus() == null) {
+            return;
+        }
+        OrderDetails details = new OrderDetails(data.getOrderId(), data.getOrderType(), data.getStatus(),
+                data.getReason(), toTransaction(data.getTransaction()));
+        long now = System.currentTimeMillis();
+        long sentAt = timestamp * 1000;
+        update(details, now - sentAt <= LIVE_WEBHOOK_MILLIS ? now : sentAt);
+    }
+
+    /**
+     * Apply a response of the order status endpoint, received now. Only a successful response is
+     * applied; one with any other code is ignored.
+     * @param response - Order status response
+     */
+    public void update(ApiResponse<OrderDetails> response) {
+        if (response == null || response.getCode() == null || response.getCode() != SUCCESS_CODE
+                || response.getData() == null) {
+            return;
+        }
+        OrderDetails details = response.getData();
+        if (details.getOrderId() == null || details.getStatus() == null) {
+            return;
+        }
+        update(details, System.currentTimeMillis());
+    }
+
+    /**
+     * Number of orders held
+     * @return Number of orders in the store
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    private synchronized void update(OrderDetails details, long reportedAt) {
+        String orderId = details.getOrderId();
+        Entry existing = orders.get(orderId);
+        Entry next = new Entry(details, reportedAt);
+        if (existing != null) {
+            if (existing.terminal || rank(next.details.getStatus()) < rank(existing.details.getStatus())) {
+                return;
+            }
+            if (next.details.getStatus() == existing.details.getStatus() && reportedAt < existing.reportedAt) {
+                return;
+            }
+        }
+        orders.put(orderId, next);
+        if (next.terminal) {
+            pendingOrder.remove(orderId);
+            terminalOrder.put(orderId, Boolean.TRUE);
+        } else if (existing == null) {
+            pendingOrder.put(orderId, Boolean.TRUE);
+        }
+        while (orders.size() > capacity) {
+            LinkedHashMap<String, Boolean> oldest = !terminalOrder.isEmpty() ? terminalOrder : pendingOrder;
+            Iterator<String> it = oldest.keySet().iterator();
+            orders.remove(it.next());
+            it.remove();
+        }
+    }
+
+    private static int rank(OrderStatus status) {
+        switch (status) {
+            case PENDING:
+                return 0;
+            case PENDING_CONFIRMATION:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private static OrderDetails.Transaction toTransaction(WebhookTransaction transaction) {
+        if (transaction == null) {
+            return null;
+        }
+        return new OrderDetails.Transaction(transaction.getChain(), transaction.getSymbol(),
+                transaction.getBlockNum(), transaction.getTxid(), transaction.getContractAddress(),
+                transaction.getFrom(), transaction.getTo(), toPlainString(transaction.getAmount()),
+                transaction.getTimestamp(), toPlainString(transaction.getTxGas()),
+                transaction.getConfirmedNum(), transaction.getStatus());
+    }
+
+    private static String toPlainString(Double value) {
+        return value != null ? BigDecimal.valueOf(value).toPlainString() : null;
+    }
+
+    private static final class Entry {
+        private final OrderDetails details;
+        private final boolean terminal;
+        private final long reportedAt;
+
+        Entry(OrderDetails details, long reportedAt) {
+            this.details = details;
+            this.terminal = rank(details.getStatus()) == 2;
+            this.reportedAt = reportedAt;
+        }
+    }
+}
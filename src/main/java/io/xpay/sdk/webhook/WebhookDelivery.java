@@ -0,0 +1,41 @@
+package io.xpay.sdk.webhook;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stored or received webhook delivery awaiting verification
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDelivery {
+    /**
+     * Raw webhook request body (UTF-8 JSON)
+     */
+    private byte[] body;
+
+    /**
+     * Signature from webhook; null to use the sign field of the body
+     */
+    private String signature;
+
+    /**
+     * Timestamp from webhook; null to use the timestamp field of the body
+     */
+    private String timestamp;
+
+    /**
+     * Create a delivery from a string body
+     * @param body - Webhook request body
+     * @param signature - Signature from webhook
+     * @param timestamp - Timestamp from webhook
+     * @return Delivery
+     */
+    public static WebhookDelivery of(String body, String signature, String timestamp) {
+        return new WebhookDelivery(body.getBytes(StandardCharsets.UTF_8), signature, timestamp);
+    }
+}
@@ -0,0 +1,381 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.model.WebhookNotifyType;
+import io.xpay.sdk.model.webhook.CollectWebhookData;
+import io.xpay.sdk.model.webhook.OrderWebhookData;
+import io.xpay.sdk.model.webhook.WebhookEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Asynchronous, typed webhook dispatcher
+ *
+ * Handlers are registered per {@link WebhookNotifyType}. Submitted events are queued and run on
+ * the dispatcher's executor, so the HTTP thread can acknowledge X-Pay immediately. Events for the
+ * same order are delivered one at a time in submission order (ORDER_PENDING before ORDER_SUCCESS);
+ * events for different orders run in parallel. The number of queued events is bounded, and
+ * {@link #submit(WebhookEvent)} returns false instead of blocking when the bound is reached.
+ * By default handlers run on virtual threads when the JVM supports them (Java 21+) and on a cached
+ * pool of daemon threads otherwise.
+ */
+public final class WebhookDispatcher implements AutoCloseable {
+    private static final int DRAIN_BATCH = 64;
+
+    private final Map<WebhookNotifyType, List<WebhookHandler<Object>>> handlers;
+    private final Lane[] lanes;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final BiConsumer<WebhookEvent, Throwable> errorHandler;
+    private final Semaphore capacity;
+    private final int queueCapacity;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private WebhookDispatcher(Builder builder) {
+        Map<WebhookNotifyType, List<WebhookHandler<Object>>> registered = new EnumMap<>(WebhookNotifyType.class);
+        builder.handlers.forEach((type, list) -> registered.put(type, List.copyOf(list)));
+        this.handlers = Collections.unmodifiableMap(registered);
+        this.lanes = new Lane[builder.lanes];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+        this.ownsExecutor = builder.executor == null;
+        this.executor = ownsExecutor ? defaultExecutor() : builder.executor;
+        this.errorHandler = builder.errorHandler;
+        this.queueCapacity = builder.queueCapacity;
+        this.capacity = new Semaphore(queueCapacity);
+    }
+
+    /**
+     * Create a new dispatcher builder
+     * @return Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Queue a verified webhook event for its handlers
+     * @param event - Webhook event returned by XPay.parseWebhook
+     * @return True if the event was accepted (or has no handler); false if the queue is full or the dispatcher is closed
+     */
+    public boolean submit(WebhookEvent event) {
+        if (event == null || event.getNotifyType() == null) {
+            throw new IllegalArgumentException("event and its notifyType must not be null");
+        }
+        return reserve(event) && submitReserved(event);
+    }
+
+    /**
+     * Reserve queue space for an event without queuing it yet, so a caller can make the event
+     * durable only once it is known to be accepted; follow with submitReserved or cancelReservation
+     * @param event - Webhook event returned by XPay.parseWebhook
+     * @return True if space was reserved (or the event has no handler); false if the queue is full or the dispatcher is closed
+     */
+    boolean reserve(WebhookEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        return !handlers.containsKey(event.getNotifyType()) || capacity.tryAcquire();
+    }
+
+    /**
+     * Give back the space reserved for an event that will not be submitted
+     * @param event - Event passed to a successful reserve
+     */
+    void cancelReservation(WebhookEvent event) {
+        if (handlers.containsKey(event.getNotifyType())) {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Queue an event whose space was reserved
+     * @param event - Event passed to a successful reserve
+     * @return True if queued (or the event has no handler); false if the executor refused it, in which
+     *         case the reservation is given back
+     */
+    boolean submitReserved(WebhookEvent event) {
+        if (!handlers.containsKey(event.getNotifyType())) {
+            return true;
+        }
+        Lane lane = lanes[Math.floorMod(spread(orderingKey(event).hashCode()), lanes.length)];
+        lane.queue.offer(event);
+        try {
+            lane.schedule();
+        } catch (RejectedExecutionException e) {
+            if (lane.queue.remove(event)) {
+                capacity.release();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of events queued or being handled
+     * @return Pending event count
+     */
+    public int pending() {
+        return queueCapacity - capacity.availablePermits();
+    }
+
+    /**
+     * Wait until every accepted event has been handled; intended for shutdown and tests, as
+     * submissions are briefly refused at the moment the dispatcher is found idle
+     * @param timeout - Maximum time to wait
+     * @param unit - Time unit of the timeout
+     * @return True if the dispatcher became idle within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!capacity.tryAcquire(queueCapacity, timeout, unit)) {
+            return false;
+        }
+        capacity.release(queueCapacity);
+        return true;
+    }
+
+    /**
+     * Stop accepting events, wait up to 30 seconds for queued events and release the internal executor
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            awaitIdle(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (ownsExecutor) {
+                ((ExecutorService) executor).shutdown();
+            }
+        }
+    }
+
+    /**
+     * Events that concern the same order share a key so they are delivered in order
+     */
+    private static String orderingKey(WebhookEvent event) {
+        Object data = event.getData();
+        if (data instanceof OrderWebhookData && ((OrderWebhookData) data).getOrderId() != null) {
+            return ((OrderWebhookData) data).getOrderId();
+        }
+        if (data instanceof CollectWebhookData && ((CollectWebhookData) data).getTransaction() != null
+                && ((CollectWebhookData) data).getTransaction().getTxid() != null) {
+            return ((CollectWebhookData) data).getTransaction().getTxid();
+        }
+        return String.valueOf(event.getNonce());
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private void deliver(WebhookEvent event) {
+        for (WebhookHandler<Object> handler : handlers.get(event.getNotifyType())) {
+            try {
+                handler.handle(event, event.getData());
+            } catch (Throwable t) {
+                try {
+                    errorHandler.accept(event, t);
+                } catch (Throwable ignored) {
+                    // The error handler must not stop the lane
+                }
+            }
+        }
+    }
+
+    /**
+     * Serial queue drained by at most one executor task at a time
+     */
+    private final class Lane implements Runnable {
+        private final ConcurrentLinkedQueue<WebhookEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            WebhookEvent event;
+            int delivered = 0;
+            while (delivered < DRAIN_BATCH && (event = queue.poll()) != null) {
+                try {
+                    deliver(event);
+                } finally {
+                    capacity.release();
+                }
+                delivered++;
+            }
+            scheduled.set(false);
+            // Pick up events that arrived after the last poll, or yield after a full batch
+            if (!queue.isEmpty()) {
+                try {
+                    schedule();
+                } catch (RejectedExecutionException e) {
+                    // Executor shut down; drop what is left and free its capacity
+                    while (queue.poll() != null) {
+                        capacity.release();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Virtual thread per task on Java 21+, otherwise a cached pool of daemon threads
+     */
+    private static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new DaemonThreadFactory());
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "xpay-webhook-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookDispatcher}
+     */
+    public static final class Builder {
+        private final Map<WebhookNotifyType, List<WebhookHandler<Object>>> handlers = new EnumMap<>(WebhookNotifyType.class);
+        private int lanes = Runtime.getRuntime().availableProcessors() * 4;
+        private int queueCapacity = 10000;
+        private Executor executor;
+        private BiConsumer<WebhookEvent, Throwable> errorHandler = (event, error) -> {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, error);
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * Register a handler for an ORDER_* notification type
+         * @param type - ORDER_* notification type
+         * @param handler - Handler receiving OrderWebhookData
+         * @return This builder
+         */
+        public Builder onOrder(WebhookNotifyType type, WebhookHandler<OrderWebhookData> handler) {
+            if (!type.name().startsWith("ORDER_")) {
+                throw new IllegalArgumentException(type + " is not an ORDER_* notification type");
+            }
+            return add(type, handler);
+        }
+
+        /**
+         * Register a handler for a COLLECT_* notification type
+         * @param type - COLLECT_* notification type
+         * @param handler - Handler receiving CollectWebhookData
+         * @return This builder
+         */
+        public Builder onCollect(WebhookNotifyType type, WebhookHandler<CollectWebhookData> handler) {
+            if (!type.name().startsWith("COLLECT_")) {
+                throw new IllegalArgumentException(type + " is not a COLLECT_* notification type");
+            }
+            return add(type, handler);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder add(WebhookNotifyType type, WebhookHandler<?> handler) {
+            if (handler == null) {
+                throw new IllegalArgumentException("handler must not be null");
+            }
+            handlers.computeIfAbsent(type, t -> new ArrayList<>()).add((WebhookHandler<Object>) handler);
+            return this;
+        }
+
+        /**
+         * Number of serial lanes; events for one order always use the same lane
+         * @param lanes - Lane count (default 4 x available processors)
+         * @return This builder
+         */
+        public Builder lanes(int lanes) {
+            if (lanes <= 0) {
+                throw new IllegalArgumentException("lanes must be positive");
+            }
+            this.lanes = lanes;
+            return this;
+        }
+
+        /**
+         * Maximum number of events queued or being handled
+         * @param queueCapacity - Queue bound (default 10000)
+         * @return This builder
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be positive");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Executor running the handlers; not shut down by the dispatcher. By default handlers run on
+         * virtual threads on Java 21+ and on a cached thread pool otherwise
+         * @param executor - Executor
+         * @return This builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Callback for exceptions thrown by handlers (default: the thread's uncaught exception handler)
+         * @param errorHandler - Error callback
+         * @return This builder
+         */
+        public Builder errorHandler(BiConsumer<WebhookEvent, Throwable> errorHandler) {
+            if (errorHandler == null) {
+                throw new IllegalArgumentException("errorHandler must not be null");
+            }
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Build the dispatcher
+         * @return Dispatcher
+         */
+        public WebhookDispatcher build() {
+            return new WebhookDispatcher(this);
+        }
+    }
+}
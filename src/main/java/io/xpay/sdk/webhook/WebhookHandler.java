@@ -0,0 +1,18 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.model.webhook.WebhookEvent;
+
+/**
+ * Handler for one webhook notification type
+ * @param <T> - Typed event data (OrderWebhookData or CollectWebhookData)
+ */
+@FunctionalInterface
+public interface WebhookHandler<T> {
+    /**
+     * Handle a verified webhook event
+     * @param event - Webhook event
+     * @param data - Typed event data, same as event.getData()
+     * @throws Exception if handling fails; reported to the dispatcher's error handler
+     */
+    void handle(WebhookEvent event, T data) throws Exception;
+}
@@ -0,0 +1,539 @@
+package io.xpay.sdk.webhook;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, append-only journal of received webhook deliveries
+ *
+ * Each delivery is stored with its raw body, signature and timestamp in memory-mapped segment
+ * files and given a sequence number. {@link #append(byte[], String, String)} returns once the
+ * record has been forced to disk; concurrent appenders share a single fsync (group commit), so
+ * throughput grows with the number of request threads instead of being bound by disk latency.
+ * After a restart, {@link #replay(long, Consumer)} hands every delivery from a sequence number
+ * onwards to a handler, e.g. to re-run XPay.parseWebhooks for events that were acknowledged to
+ * X-Pay but not yet processed.
+ *
+ * Record layout: {@code length(int) crc32c(int) sequence(long) receivedAt(long)
+ * signature(short length + UTF-8) timestamp(short length + UTF-8) body(int length + bytes)};
+ * the CRC covers everything after the header. A torn or corrupt tail is detected and discarded
+ * when the journal is opened.
+ */
+public final class WebhookJournal implements AutoCloseable {
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 2 + 2 + 4;
+    private static final int ZERO_CHUNK = 64 * 1024;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final List<Segment> sealed = new ArrayList<>();
+    private final Object syncMonitor = new Object();
+    private Segment active;
+    private long lastSequence;
+    private long durableSequence;
+    private boolean syncing;
+    private boolean closed;
+
+    private WebhookJournal(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.syncOnAppend = builder.syncOnAppend;
+        Files.createDirectories(directory);
+        recover();
+        this.durableSequence = lastSequence;
+    }
+
+    /**
+     * Create a new journal builder
+     * @return Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Append a verified webhook delivery
+     * @param body - Raw webhook request body
+     * @param signature - Signature from webhook, or null if it is part of the body
+     * @param timestamp - Timestamp from webhook, or null if it is part of the body
+     * @return Sequence number of the record
+     * @throws IOException if the record cannot be written or forced to disk
+     */
+    public long append(byte[] body, String signature, String timestamp) throws IOException {
+        if (body == null) {
+            throw new IllegalArgumentException("body must not be null");
+        }
+        byte[] sig = encode(signature);
+        byte[] ts = encode(timestamp);
+        int payloadSize = FIXED_PAYLOAD_SIZE + length(sig) + length(ts) + body.length;
+        int recordSize = HEADER_SIZE + payloadSize;
+        long sequence;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (active.position + recordSize > active.buffer.capacity()) {
+                roll(recordSize);
+            }
+            sequence = lastSequence + 1;
+            MappedByteBuffer buffer = active.buffer;
+            int start = active.position;
+            int pos = start + HEADER_SIZE;
+            buffer.putLong(pos, sequence);
+            buffer.putLong(pos + 8, System.currentTimeMillis());
+            pos = putString(buffer, pos + 16, sig);
+            pos = putString(buffer, pos, ts);
+            buffer.putInt(pos, body.length);
+            buffer.put(pos + 4, body);
+            crc.reset();
+            crc.update(buffer.slice(start + HEADER_SIZE, payloadSize));
+            buffer.putInt(start + 4, (int) crc.getValue());
+            // Length last, so an unfinished record reads as the end of the segment
+            buffer.putInt(start, payloadSize);
+            active.position = start + recordSize;
+            active.lastSequence = sequence;
+            lastSequence = sequence;
+        } finally {
+            lock.unlock();
+        }
+        if (syncOnAppend) {
+            sync(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Force every appended record to disk; only needed when syncOnAppend is disabled
+     * @throws IOException if the journal cannot be forced
+     */
+    public void flush() throws IOException {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = lastSequence;
+        } finally {
+            lock.unlock();
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Hand every record from a sequence number onwards to a handler, in sequence order
+     * @param fromSequence - First sequence number to replay
+     * @param handler - Handler receiving each entry; an exception stops the replay
+     * @return Sequence number following the last replayed record, to resume from
+     * @throws IOException if a segment cannot be read
+     */
+    public long replay(long fromSequence, Consumer<JournalEntry> handler) throws IOException {
+        List<Segment> segments;
+        Segment current;
+        int currentEnd;
+        long currentLast;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            segments = new ArrayList<>(sealed);
+            current = active;
+            currentEnd = active.position;
+            currentLast = active.lastSequence;
+        } finally {
+            lock.unlock();
+        }
+        long next = fromSequence;
+        for (Segment segment : segments) {
+            if (segment.lastSequence >= fromSequence) {
+                try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                    next = replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.position),
+                            segment.position, fromSequence, next, handler);
+                }
+            }
+        }
+        if (currentLast >= fromSequence) {
+            next = replay(current.buffer.duplicate(), currentEnd, fromSequence, next, handler);
+        }
+        return next;
+    }
+
+    /**
+     * Delete whole segments whose records all precede a sequence number, e.g. once they have been processed
+     * @param sequence - First sequence number to keep
+     * @return Number of segment files deleted
+     * @throws IOException if a segment cannot be deleted
+     */
+    public int deleteBefore(long sequence) throws IOException {
+        lock.lock();
+        try {
+            int deleted = 0;
+            while (!sealed.isEmpty() && sealed.get(0).lastSequence < sequence) {
+                Files.deleteIfExists(sealed.remove(0).path);
+                deleted++;
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sequence number of the most recently appended record
+     * @return Last sequence number, or 0 if the journal is empty
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Force outstanding records to disk and close the active segment
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            active.buffer.force();
+            active.channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Group commit: the first waiter forces everything written so far while later appenders wait,
+     * and the next waiter covers whatever arrived during that force
+     */
+    private void sync(long sequence) throws IOException {
+        synchronized (syncMonitor) {
+            while (syncing && durableSequence < sequence) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for journal sync");
+                }
+            }
+            if (durableSequence >= sequence) {
+                return;
+            }
+            syncing = true;
+        }
+        long target = 0;
+        boolean synced = false;
+        try {
+            Segment segment;
+            int end;
+            lock.lock();
+            try {
+                target = lastSequence;
+                segment = active;
+                end = active.position;
+            } finally {
+                lock.unlock();
+            }
+            // Only the sync leader touches syncedPosition
+            if (end > segment.syncedPosition) {
+                segment.buffer.force(segment.syncedPosition, end - segment.syncedPosition);
+                segment.syncedPosition = end;
+            }
+            synced = true;
+        } finally {
+            synchronized (syncMonitor) {
+                if (synced && target > durableSequence) {
+                    durableSequence = target;
+                }
+                syncing = false;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Seal the active segment and start a new one; called with the lock held
+     */
+    private void roll(int recordSize) throws IOException {
+        active.buffer.force();
+        active.channel.close();
+        sealed.add(active);
+        long sealedSequence = active.lastSequence;
+        active = create(lastSequence + 1, Math.max(segmentSize, recordSize));
+        synchronized (syncMonitor) {
+            if (sealedSequence > durableSequence) {
+                durableSequence = sealedSequence;
+            }
+        }
+    }
+
+    /**
+     * Create and map a segment file. Its size and directory entry are forced to disk here, before
+     * any record written to it can be acknowledged, since forcing the mapping only covers its contents.
+     */
+    private Segment create(long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(path, firstSequence);
+        try {
+            segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            channel.force(true);
+            syncDirectory();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        segment.channel = channel;
+        return segment;
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows cannot open a directory as a channel; its entries are durable with the file
+            if (!WINDOWS) {
+                throw e;
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            String name = path.getFileName().toString();
+            Segment segment = new Segment(path, Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long fileSize = channel.size();
+            boolean last = i == paths.size() - 1;
+            long mapSize = last ? Math.max(fileSize, segmentSize) : fileSize;
+            if (mapSize > Integer.MAX_VALUE) {
+                channel.close();
+                throw new IOException("Journal segment too large: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapSize);
+            scan(segment, buffer);
+            segment.syncedPosition = segment.position;
+            if (segment.lastSequence > lastSequence) {
+                lastSequence = segment.lastSequence;
+            }
+            if (last) {
+                clearTail(buffer, segment.position);
+                if (mapSize > fileSize) {
+                    // Mapping grew the file; its new size must be durable before records land past the old end
+                    channel.force(true);
+                }
+                segment.channel = channel;
+                segment.buffer = buffer;
+                active = segment;
+            } else {
+                channel.close();
+                sealed.add(segment);
+            }
+        }
+        if (active == null) {
+            active = create(lastSequence + 1, segmentSize);
+        }
+    }
+
+    /**
+     * Find the end of the valid records in a segment
+     */
+    private void scan(Segment segment, ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        int pos = 0;
+        long previous = segment.firstSequence - 1;
+        while (pos + HEADER_SIZE <= capacity) {
+            int payloadSize = buffer.getInt(pos);
+            if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > capacity - pos - HEADER_SIZE) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(pos + HEADER_SIZE, payloadSize));
+            long sequence = buffer.getLong(pos + HEADER_SIZE);
+            if ((int) crc.getValue() != buffer.getInt(pos + 4) || sequence <= previous) {
+                break;
+            }
+            previous = sequence;
+            segment.lastSequence = sequence;
+            pos += HEADER_SIZE + payloadSize;
+        }
+        segment.position = pos;
+    }
+
+    /**
+     * Zero whatever follows the last valid record so a partial write is not mistaken for data later
+     */
+    private static void clearTail(MappedByteBuffer buffer, int from) {
+        if (from + 4 > buffer.capacity() || buffer.getInt(from) == 0) {
+            return;
+        }
+        byte[] zeros = new byte[ZERO_CHUNK];
+        for (int pos = from; pos < buffer.capacity(); pos += ZERO_CHUNK) {
+            buffer.put(pos, zeros, 0, Math.min(ZERO_CHUNK, buffer.capacity() - pos));
+        }
+        buffer.force();
+    }
+
+    private static long replay(ByteBuffer buffer, int end, long fromSequence, long next,
+                               Consumer<JournalEntry> handler) {
+        int pos = 0;
+        while (pos < end) {
+            int payloadSize = buffer.getInt(pos);
+            int field = pos + HEADER_SIZE;
+            long sequence = buffer.getLong(field);
+            if (sequence >= fromSequence) {
+                long receivedAt = buffer.getLong(field + 8);
+                field += 16;
+                String signature = getString(buffer, field);
+                field += 2 + Math.max(0, buffer.getShort(field));
+                String timestamp = getString(buffer, field);
+                field += 2 + Math.max(0, buffer.getShort(field));
+                byte[] body = new byte[buffer.getInt(field)];
+                buffer.get(field + 4, body);
+                handler.accept(new JournalEntry(sequence, receivedAt, body, signature, timestamp));
+                next = sequence + 1;
+            }
+            pos += HEADER_SIZE + payloadSize;
+        }
+        return next;
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Webhook header value too long");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static int putString(ByteBuffer buffer, int pos, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort(pos, (short) -1);
+            return pos + 2;
+        }
+        buffer.putShort(pos, (short) bytes.length);
+        buffer.put(pos + 2, bytes);
+        return pos + 2 + bytes.length;
+    }
+
+    private static String getString(ByteBuffer buffer, int pos) {
+        short length = buffer.getShort(pos);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private long lastSequence;
+        private int position;
+        private int syncedPosition;
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+
+        Segment(Path path, long firstSequence) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.lastSequence = firstSequence - 1;
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookJournal}
+     */
+    public static final class Builder {
+        private Path directory;
+        private int segmentSize = 64 * 1024 * 1024;
+        private boolean syncOnAppend = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Directory holding the segment files; created if missing
+         * @param directory - Journal directory
+         * @return This builder
+         */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Size of each memory-mapped segment file
+         * @param segmentSize - Segment size in bytes (default 64 MiB)
+         * @return This builder
+         */
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize < 4096) {
+                throw new IllegalArgumentException("segmentSize must be at least 4096");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Whether append waits until the record is on disk; when disabled call flush() before acknowledging
+         * @param syncOnAppend - Force records to disk on append (default true)
+         * @return This builder
+         */
+        public Builder syncOnAppend(boolean syncOnAppend) {
+            this.syncOnAppend = syncOnAppend;
+            return this;
+        }
+
+        /**
+         * Open the journal, recovering any existing segments
+         * @return Journal
+         * @throws IOException if the directory or a segment cannot be opened
+         */
+        public WebhookJournal build() throws IOException {
+            if (directory == null) {
+                throw new IllegalArgumentException("directory must not be null");
+            }
+            return new WebhookJournal(this);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.XPay;
+import io.xpay.sdk.model.webhook.WebhookEvent;
+
+import java.io.IOException;
+
+/**
+ * Transport-independent webhook intake shared by the embedded server and the Spring endpoint
+ *
+ * Verifies a raw callback body, optionally appends it to a {@link WebhookJournal} and queues the
+ * event on a {@link WebhookDispatcher}, returning the HTTP status to answer X-Pay with.
+ *
+ * Dispatcher queue space is reserved before a delivery is journaled, so only deliveries that are
+ * acknowledged with 200 are journaled: a delivery refused because the queue is full is answered 503
+ * without a journal record, and X-Pay's retry is journaled once. A journaled delivery that the
+ * dispatcher's executor then refuses (it was shut down) is still acknowledged, since it is on disk
+ * and is handed over by the journal replay at the next start.
+ */
+public final class WebhookReceiver {
+    public static final int ACCEPTED = 200;
+    public static final int INVALID = 400;
+    public static final int JOURNAL_FAILED = 500;
+    public static final int OVERLOADED = 503;
+
+    private final XPay xpay;
+    private final WebhookDispatcher dispatcher;
+    private final WebhookJournal journal;
+
+    /**
+     * Create a receiver
+     * @param xpay - SDK instance whose API secret verifies the callbacks
+     * @param dispatcher - Dispatcher the verified events are handed to
+     * @param journal - Journal accepted deliveries are appended to before being queued, or null
+     */
+    public WebhookReceiver(XPay xpay, WebhookDispatcher dispatcher, WebhookJournal journal) {
+        if (xpay == null || dispatcher == null) {
+            throw new IllegalArgumentException("xpay and dispatcher must not be null");
+        }
+        this.xpay = xpay;
+        this.dispatcher = dispatcher;
+        this.journal = journal;
+    }
+
+    /**
+     * Verify and queue one callback
+     * @param body - Raw webhook request body
+     * @return HTTP status: 200 queued, 400 invalid, 500 journal failure, 503 dispatcher queue full
+     */
+    public int receive(byte[] body) {
+        WebhookEvent event;
+        try {
+            event = xpay.parseWebhook(body);
+        } catch (RuntimeException e) {
+            return INVALID;
+        }
+        if (event == null || event.getNotifyType() == null) {
+            return INVALID;
+        }
+        if (!dispatcher.reserve(event)) {
+            // Let X-Pay's retry through the replay guard
+            xpay.releaseWebhook(event);
+            return OVERLOADED;
+        }
+        if (journal != null) {
+            try {
+                journal.append(body, null, null);
+            } catch (IOException | RuntimeException e) {
+                dispatcher.cancelReservation(event);
+                xpay.releaseWebhook(event);
+                return JOURNAL_FAILED;
+            }
+        }
+        if (!dispatcher.submitReserved(event) && journal == null) {
+            xpay.releaseWebhook(event);
+            return OVERLOADED;
+        }
+        return ACCEPTED;
+    }
+}
@@ -0,0 +1,152 @@
+package io.xpay.sdk.webhook;
+
+/**
+ * Bounded replay cache for webhook nonces
+ *
+ * Remembers each accepted nonce until its callback timestamp falls out of the freshness window,
+ * after which a replay would be rejected by the timestamp check anyway. Nonces are stored as
+ * 64-bit fingerprints in fixed-size, lock-striped open-addressing tables, so memory is allocated
+ * once up front and every check is O(1) with a bounded probe. Expired slots are reused in place.
+ *
+ * When the probe range for a nonce is full of live entries the nonce is refused, so under an
+ * unexpected flood callbacks are rejected (and retried by X-Pay) rather than let through unchecked.
+ */
+public final class WebhookReplayGuard {
+    private static final int MAX_PROBE = 16;
+    private static final int MAX_STRIPES = 64;
+    private static final int MIN_STRIPE_SLOTS = 256;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long windowSeconds;
+
+    /**
+     * Create a replay guard
+     * @param capacity - Number of live nonces the guard must be able to hold; the table is sized to
+     *                   twice this (rounded up to a power of two) to keep probe chains short
+     * @param windowSeconds - Freshness window of the webhook timestamp check
+     */
+    public WebhookReplayGuard(int capacity, long windowSeconds) {
+        if (capacity <= 0 || capacity > (1 << 28)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^28");
+        }
+        int slots = Integer.highestOneBit(Math.max(capacity * 2, MIN_STRIPE_SLOTS) - 1) << 1;
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, slots / MIN_STRIPE_SLOTS));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(slots / stripeCount);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Record a nonce from a verified callback
+     * @param nonce - Webhook nonce
+     * @param timestamp - Webhook timestamp in seconds
+     * @return True if the nonce has not been seen inside the window; false for a replay or when the cache is full
+     */
+    public boolean register(String nonce, long timestamp) {
+        return register(nonce, timestamp, System.currentTimeMillis() / 1000);
+    }
+
+    boolean register(String nonce, long timestamp, long nowSeconds) {
+        if (nonce == null) {
+            return false;
+        }
+        long fingerprint = fingerprint(nonce);
+        Stripe stripe = stripes[(int) (fingerprint >>> 58) & stripeMask];
+        synchronized (stripe) {
+            return stripe.insert(fingerprint, timestamp + windowSeconds, nowSeconds);
+        }
+    }
+
+    /**
+     * Forget a registered nonce so a retried callback is accepted, e.g. when the event could not be queued
+     * @param nonce - Webhook nonce
+     */
+    public void release(String nonce) {
+        if (nonce == null) {
+            return;
+        }
+        long fingerprint = fingerprint(nonce);
+        Stripe stripe = stripes[(int) (fingerprint >>> 58) & stripeMask];
+        synchronized (stripe) {
+            stripe.expire(fingerprint);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the nonce characters, finished with the MurmurHash3 mixer; never zero
+     */
+    private static long fingerprint(String nonce) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < nonce.length(); i++) {
+            h ^= nonce.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    private static final class Stripe {
+        private final long[] fingerprints;
+        private final long[] expiries;
+        private final int mask;
+
+        Stripe(int slots) {
+            this.fingerprints = new long[slots];
+            this.expiries = new long[slots];
+            this.mask = slots - 1;
+        }
+
+        boolean insert(long fingerprint, long expiresAt, long now) {
+            int reusable = -1;
+            int index = (int) fingerprint & mask;
+            for (int probe = 0; probe < MAX_PROBE && probe <= mask; probe++, index = (index + 1) & mask) {
+                long existing = fingerprints[index];
+                if (existing == fingerprint) {
+                    if (expiries[index] >= now) {
+                        return false;
+                    }
+                    expiries[index] = expiresAt;
+                    return true;
+                }
+                if (existing == 0) {
+                    if (reusable < 0) {
+                        reusable = index;
+                    }
+                    // Nothing was ever stored past an empty slot on this probe path
+                    break;
+                }
+                if (reusable < 0 && expiries[index] < now) {
+                    reusable = index;
+                }
+            }
+            if (reusable < 0) {
+                return false;
+            }
+            fingerprints[reusable] = fingerprint;
+            expiries[reusable] = expiresAt;
+            return true;
+        }
+
+        void expire(long fingerprint) {
+            int index = (int) fingerprint & mask;
+            for (int probe = 0; probe < MAX_PROBE && probe <= mask; probe++, index = (index + 1) & mask) {
+                if (fingerprints[index] == fingerprint) {
+                    // Keep the slot occupied so probe paths through it stay intact
+                    expiries[index] = Long.MIN_VALUE;
+                    return;
+                }
+                if (fingerprints[index] == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.model.webhook.WebhookEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Verification result for one webhook delivery of a batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookResult {
+    /**
+     * Delivery this result belongs to
+     */
+    private WebhookDelivery delivery;
+
+    /**
+     * Verification outcome
+     */
+    private WebhookVerificationStatus status;
+
+    /**
+     * Parsed event, set only when the status is VALID
+     */
+    private WebhookEvent event;
+
+    /**
+     * Parse error, set only when the status is MALFORMED
+     */
+    private Throwable error;
+
+    /**
+     * Whether the delivery was verified and parsed
+     * @return True if the status is VALID
+     */
+    public boolean isValid() {
+        return status == WebhookVerificationStatus.VALID;
+    }
+}
@@ -0,0 +1,337 @@
+package io.xpay.sdk.webhook;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.xpay.sdk.XPay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded webhook receiver built on the JDK HTTP server
+ *
+ * Each POST to the configured path is read as raw bytes and passed to a {@link WebhookReceiver}:
+ * verified with the secret of the given {@link XPay} instance, optionally appended to a
+ * {@link WebhookJournal}, and queued on a {@link WebhookDispatcher}. The response is sent as soon
+ * as the event is queued, without waiting for the handlers. Responses:
+ * <ul>
+ *     <li>200 - verified and queued (or no handler is registered for its type)</li>
+ *     <li>400 - invalid signature, expired timestamp or malformed body</li>
+ *     <li>413 - body larger than the configured limit</li>
+ *     <li>503 - too many requests in flight or the dispatcher queue is full; X-Pay retries later</li>
+ *     <li>500 - the journal could not be written</li>
+ * </ul>
+ * By default requests run on virtual threads when the JVM supports them (Java 21+) and on a
+ * fixed pool of platform threads otherwise.
+ *
+ * The request bound is enforced when the HTTP server hands a request to the executor, before it is
+ * queued: requests beyond it never reach the executor's queue but are answered 503 by a small
+ * separate pool. Only if that pool is saturated as well is the connection closed without a response.
+ */
+public final class WebhookServer implements AutoCloseable {
+    private static final int OVERFLOW_THREADS = 2;
+    private static final int OVERFLOW_QUEUE = 1024;
+
+    private final WebhookReceiver receiver;
+    private final HttpServer server;
+    private final ExecutorService ownedExecutor;
+    private final Executor workers;
+    private final ExecutorService overflow;
+    private final ThreadLocal<Boolean> rejecting = new ThreadLocal<>();
+    private final Semaphore admission;
+    private final int maxBodySize;
+
+    private WebhookServer(Builder builder) throws IOException {
+        this.receiver = new WebhookReceiver(builder.xpay, builder.dispatcher, builder.journal);
+        this.admission = new Semaphore(builder.maxConcurrentRequests);
+        this.maxBodySize = builder.maxBodySize;
+        InetSocketAddress address = builder.host != null
+                ? new InetSocketAddress(builder.host, builder.port)
+                : new InetSocketAddress(builder.port);
+        this.server = HttpServer.create(address, builder.backlog);
+        this.ownedExecutor = builder.executor == null ? defaultExecutor(builder.maxConcurrentRequests) : null;
+        this.workers = builder.executor != null ? builder.executor : ownedExecutor;
+        this.overflow = new ThreadPoolExecutor(OVERFLOW_THREADS, OVERFLOW_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(OVERFLOW_QUEUE), new DaemonThreadFactory("xpay-webhook-overflow-"));
+        server.setExecutor(this::dispatch);
+        server.createContext(builder.path, this::handle);
+    }
+
+    /**
+     * Create a new server builder
+     * @param xpay - SDK instance whose API secret verifies the callbacks
+     * @param dispatcher - Dispatcher the verified events are handed to
+     * @return Builder
+     */
+    public static Builder builder(XPay xpay, WebhookDispatcher dispatcher) {
+        return new Builder(xpay, dispatcher);
+    }
+
+    /**
+     * Start accepting callbacks
+     * @return This server
+     */
+    public WebhookServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Port the server is bound to, useful when it was built with port 0
+     * @return Local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop accepting connections, give in-flight requests up to a second and release the internal
+     * executor; the dispatcher and journal stay open
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        overflow.shutdown();
+    }
+
+    /**
+     * Runs on the HTTP server's dispatcher thread: a request takes a permit before it is handed to
+     * the executor and keeps it until answered, so queued requests count against the bound too
+     */
+    private void dispatch(Runnable exchange) {
+        if (admission.tryAcquire()) {
+            try {
+                workers.execute(() -> {
+                    try {
+                        exchange.run();
+                    } finally {
+                        admission.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admission.release();
+                throw e;
+            }
+            return;
+        }
+        overflow.execute(() -> {
+            rejecting.set(Boolean.TRUE);
+            try {
+                exchange.run();
+            } finally {
+                rejecting.remove();
+            }
+        });
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405);
+                return;
+            }
+            if (rejecting.get() != null) {
+                respond(exchange, WebhookReceiver.OVERLOADED);
+                return;
+            }
+            respond(exchange, receive(exchange));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int receive(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > maxBodySize) {
+                    return 413;
+                }
+            } catch (NumberFormatException e) {
+                return 400;
+            }
+        }
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(maxBodySize + 1);
+        }
+        if (body.length > maxBodySize) {
+            return 413;
+        }
+        return receiver.receive(body);
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        if (status == WebhookReceiver.OVERLOADED) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Virtual thread per request on Java 21+, otherwise a fixed pool of daemon threads
+     */
+    private static ExecutorService defaultExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.min(threads, 256), new DaemonThreadFactory("xpay-webhook-server-"));
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String prefix;
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookServer}
+     */
+    public static final class Builder {
+        private final XPay xpay;
+        private final WebhookDispatcher dispatcher;
+        private WebhookJournal journal;
+        private String host;
+        private int port = 8080;
+        private String path = "/webhook";
+        private int backlog;
+        private int maxConcurrentRequests = 1000;
+        private int maxBodySize = 1024 * 1024;
+        private Executor executor;
+
+        private Builder(XPay xpay, WebhookDispatcher dispatcher) {
+            if (xpay == null || dispatcher == null) {
+                throw new IllegalArgumentException("xpay and dispatcher must not be null");
+            }
+            this.xpay = xpay;
+            this.dispatcher = dispatcher;
+        }
+
+        /**
+         * Journal each verified delivery is appended to before it is acknowledged
+         * @param journal - Journal; not closed by the server
+         * @return This builder
+         */
+        public Builder journal(WebhookJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Address to bind to
+         * @param host - Host name or IP (default: all interfaces)
+         * @return This builder
+         */
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * Port to listen on
+         * @param port - Port, or 0 for an ephemeral port (default 8080)
+         * @return This builder
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("port must be between 0 and 65535");
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Path X-Pay posts callbacks to
+         * @param path - Context path (default /webhook)
+         * @return This builder
+         */
+        public Builder path(String path) {
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("path must start with /");
+            }
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * TCP accept backlog
+         * @param backlog - Backlog, or 0 for the system default
+         * @return This builder
+         */
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Maximum number of callbacks queued or being received and verified at once; further requests get 503
+         * @param maxConcurrentRequests - Request bound (default 1000)
+         * @return This builder
+         */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests <= 0) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Largest accepted request body
+         * @param maxBodySize - Size in bytes (default 1 MiB)
+         * @return This builder
+         */
+        public Builder maxBodySize(int maxBodySize) {
+            if (maxBodySize <= 0 || maxBodySize == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("maxBodySize must be positive");
+            }
+            this.maxBodySize = maxBodySize;
+            return this;
+        }
+
+        /**
+         * Executor running the HTTP exchanges; not shut down by the server
+         * @param executor - Executor, e.g. Executors.newVirtualThreadPerTaskExecutor()
+         * @return This builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Bind the server; call start() to begin accepting callbacks
+         * @return Server
+         * @throws IOException if the address cannot be bound
+         */
+        public WebhookServer build() throws IOException {
+            return new WebhookServer(this);
+        }
+    }
+}
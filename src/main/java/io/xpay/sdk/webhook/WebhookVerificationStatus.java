@@ -0,0 +1,31 @@
+package io.xpay.sdk.webhook;
+
+/**
+ * Outcome of verifying one webhook delivery
+ */
+public enum WebhookVerificationStatus {
+    /**
+     * Signature and timestamp are valid; the event was parsed
+     */
+    VALID,
+
+    /**
+     * Signature is missing or does not match
+     */
+    INVALID_SIGNATURE,
+
+    /**
+     * Timestamp is outside the freshness window
+     */
+    STALE_TIMESTAMP,
+
+    /**
+     * Nonce was already accepted within the freshness window
+     */
+    REPLAYED,
+
+    /**
+     * Body or header values could not be parsed
+     */
+    MALFORMED
+}
@@ -0,0 +1,159 @@
+package io.xpay.sdk.client;
+
+import io.xpay.sdk.exception.XPayRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long LONG_OPEN = TimeUnit.MINUTES.toMillis(10);
+
+    private static CircuitBreaker breaker(long openDuration) {
+        return new CircuitBreaker("test", CircuitBreakerConfig.builder()
+                .windowSize(10)
+                .minimumCalls(5)
+                .failureRateThreshold(50)
+                .slowCallRateThreshold(80)
+                .slowCallDuration(100)
+                .openDuration(openDuration)
+                .halfOpenCalls(2)
+                .build());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() throws XPayRejectedException {
+        CircuitBreaker breaker = breaker(LONG_OPEN);
+        // Below minimumCalls nothing trips, even at 50% failures
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire();
+            breaker.record(FAST, i % 2 == 1);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.acquire();
+        breaker.record(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "2 of 5 failed");
+
+        breaker.acquire();
+        breaker.record(FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "3 of 6 failed");
+
+        XPayRejectedException rejected = assertThrows(XPayRejectedException.class, breaker::acquire);
+        assertEquals(XPayRejectedException.Reason.CIRCUIT_OPEN, rejected.getReason());
+        assertEquals("test", rejected.getEndpoint());
+        assertTrue(rejected.getRetryAfter() > 0 && rejected.getRetryAfter() <= LONG_OPEN);
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() throws XPayRejectedException {
+        CircuitBreaker breaker = breaker(LONG_OPEN);
+        breaker.acquire();
+        breaker.record(FAST, false);
+        breaker.acquire();
+        breaker.record(FAST, false);
+        for (int slow = 1; slow < 8; slow++) {
+            breaker.acquire();
+            breaker.record(SLOW, false);
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), slow + " of " + (slow + 2) + " slow");
+        }
+
+        breaker.acquire();
+        breaker.record(SLOW, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "8 of 10 slow");
+    }
+
+    @Test
+    void ignoresOutcomesRecordedWhileOpen() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(LONG_OPEN));
+        for (int i = 0; i < 20; i++) {
+            breaker.record(FAST, false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(XPayRejectedException.class, breaker::acquire);
+    }
+
+    @Test
+    void halfOpensOnceOpenDurationHasPassed() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(0));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.acquire();
+        breaker.acquire();
+        XPayRejectedException rejected = assertThrows(XPayRejectedException.class, breaker::acquire);
+        assertEquals(0, rejected.getRetryAfter(), "trial calls taken");
+    }
+
+    @Test
+    void closesWhenTrialCallsSucceed() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(0));
+        breaker.acquire();
+        breaker.acquire();
+        breaker.record(FAST, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "one trial still outstanding");
+        breaker.record(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        for (int i = 0; i < 10; i++) {
+            breaker.acquire();
+        }
+    }
+
+    @Test
+    void reopensWhenATrialCallFails() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(0));
+        breaker.acquire();
+        breaker.acquire();
+        breaker.record(FAST, false);
+        breaker.record(FAST, true);
+
+        // Reopened, and with no open duration half-open again with a fresh set of trial calls
+        breaker.acquire();
+        breaker.acquire();
+        assertThrows(XPayRejectedException.class, breaker::acquire);
+    }
+
+    @Test
+    void returnsTrialPermitOfCancelledCall() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(0));
+        breaker.acquire();
+        breaker.acquire();
+        assertThrows(XPayRejectedException.class, breaker::acquire);
+
+        breaker.release();
+        breaker.acquire();
+        assertThrows(XPayRejectedException.class, breaker::acquire);
+
+        breaker.record(FAST, false);
+        breaker.release();
+        breaker.acquire();
+        breaker.record(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releaseNeverGrantsMoreThanTheTrialCalls() throws XPayRejectedException {
+        CircuitBreaker breaker = trip(breaker(0));
+        breaker.acquire();
+        breaker.release();
+        breaker.release();
+        breaker.release();
+
+        breaker.acquire();
+        breaker.acquire();
+        assertThrows(XPayRejectedException.class, breaker::acquire);
+    }
+
+    private static CircuitBreaker trip(CircuitBreaker breaker) throws XPayRejectedException {
+        for (int i = 0; i < 5; i++) {
+            breaker.acquire();
+            breaker.record(FAST, true);
+        }
+        return breaker;
+    }
+}
@@ -0,0 +1,117 @@
+package io.xpay.sdk.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long QUEUED = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    private static ConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new ConcurrencyLimiter(ConcurrencyLimitConfig.builder()
+                .initialLimit(initialLimit)
+                .minLimit(minLimit)
+                .maxLimit(maxLimit)
+                .backoffRatio(0.5)
+                .maxQueue(6)
+                .build());
+    }
+
+    @Test
+    void admitsUpToTheLimit() {
+        ConcurrencyLimiter limiter = limiter(2, 1, 10);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release();
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(2, limiter.getLimit(), "release without an outcome leaves the limit alone");
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void clampsInitialLimit() {
+        assertEquals(10, limiter(50, 1, 10).getLimit());
+        assertEquals(3, limiter(1, 3, 10).getLimit());
+    }
+
+    @Test
+    void backsOffOnFailureDownToMinimum() {
+        ConcurrencyLimiter limiter = limiter(16, 3, 20);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(BASELINE, true);
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(BASELINE, true);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyShowsQueuing() {
+        ConcurrencyLimiter limiter = limiter(10, 1, 20);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(BASELINE, false);
+        assertEquals(10, limiter.getLimit(), "one call in flight is too few to grow the limit");
+
+        // 10 * (1 - 10ms / 1000ms) = 9.9 calls estimated queued, above maxQueue
+        assertTrue(limiter.tryAcquire());
+        limiter.release(QUEUED, false);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void growsWhenBusyWithoutQueuing() {
+        ConcurrencyLimiter limiter = limiter(4, 1, 20);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(BASELINE, false);
+        assertEquals(5, limiter.getLimit(), "4 in flight at limit 4");
+        limiter.release(BASELINE, false);
+        assertEquals(6, limiter.getLimit(), "3 in flight at limit 5");
+        limiter.release(BASELINE, false);
+        assertEquals(6, limiter.getLimit(), "2 in flight is less than half of limit 6");
+    }
+
+    @Test
+    void neverGrowsAboveMaximum() {
+        ConcurrencyLimiter limiter = limiter(4, 1, 4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(BASELINE, false);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void refusesWhileInFlightExceedsAReducedLimit() {
+        ConcurrencyLimiter limiter = limiter(4, 1, 20);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        limiter.release(BASELINE, true);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(3, limiter.getInFlight());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,388 @@
+package io.xpay.sdk.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xpay.sdk.model.request.CollectionRequest;
+import io.xpay.sdk.model.request.PayoutRequest;
+import io.xpay.sdk.model.request.SignedRequest;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the canonical writer against the original TreeMap/Stream implementation, which is kept
+ * below as the reference. Random inputs use a fixed seed, so a failure reproduces on every run.
+ */
+class SignatureUtilTest {
+    private static final long SEED = 42L;
+    private static final int ITERATIONS = 2000;
+    private static final String SECRET = "test_secret_key";
+    private static final String[] KEYS = {"amount", "symbol", "chain", "orderId", "uid", "a", "B", "z1", "z10", "z2", "中文", "emoji😀"};
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void signsDocumentedExample() throws Exception {
+        Map<String, Object> testData = new HashMap<>();
+        testData.put("amount", 100);
+        testData.put("symbol", "USDT");
+        testData.put("chain", "TRON");
+        testData.put("orderId", "order-1753451591786");
+        testData.put("uid", "user123");
+        testData.put("receiveAddress", "TXmVthgn6yT1kANGJHTHcbEGEKYDLLGJGp");
+
+        Map<String, Object> nestedMap = new HashMap<>();
+        nestedMap.put("key1", "value1");
+        nestedMap.put("key2", 123);
+        testData.put("nestedObject", nestedMap);
+
+        Map<String, Object> item1 = new HashMap<>();
+        item1.put("id", 1);
+        item1.put("name", "Item 1");
+        Map<String, Object> item2 = new HashMap<>();
+        item2.put("id", 2);
+        item2.put("name", "Item 2");
+        testData.put("items", Arrays.asList(item1, item2));
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", testData);
+        params.put("nonce", "puy6sxk5jwoyyeafi0hi7i");
+        params.put("timestamp", 1753451591);
+
+        assertEquals("data={amount=100,chain=TRON,items=[{id=1,name=Item 1},{id=2,name=Item 2}],"
+                        + "nestedObject={key1=value1,key2=123},orderId=order-1753451591786,"
+                        + "receiveAddress=TXmVthgn6yT1kANGJHTHcbEGEKYDLLGJGp,symbol=USDT,uid=user123}"
+                        + "&nonce=puy6sxk5jwoyyeafi0hi7i&timestamp=1753451591",
+                new String(SignatureUtil.canonicalBytes(params), StandardCharsets.UTF_8));
+        assertSignsLikeLegacy(params, "documented example");
+    }
+
+    @Test
+    void matchesLegacyForRandomMaps() throws Exception {
+        Random random = new Random(SEED);
+        HmacSigner signer = new HmacSigner(SECRET);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("data", random.nextInt(10) == 0 ? null : randomMap(random, 0));
+            params.put("nonce", randomString(random));
+            params.put("timestamp", random.nextLong());
+            if (random.nextBoolean()) {
+                params.put("notifyType", "ORDER_SUCCESS");
+            }
+            String expected = assertSignsLikeLegacy(params, "iteration " + i);
+
+            char flipped = expected.charAt(i % 64) == '0' ? '1' : '0';
+            String tampered = expected.substring(0, i % 64) + flipped + expected.substring(i % 64 + 1);
+            assertTrue(signer.verify(params, expected));
+            assertTrue(signer.verify(params, expected.toUpperCase()));
+            assertFalse(signer.verify(params, tampered));
+            assertFalse(signer.verify(params, expected.substring(1)));
+            assertFalse(signer.verify(params, expected.substring(1) + "g"));
+        }
+    }
+
+    @Test
+    void matchesLegacyForTopLevelCollections() throws Exception {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("list", randomList(random, 1));
+            params.put("nonce", "n" + i);
+            assertSignsLikeLegacy(params, "iteration " + i);
+        }
+
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("b", null);
+        nested.put("a", Arrays.asList(1, null, "x"));
+        Map<String, Object> params = new HashMap<>();
+        params.put("list", Arrays.asList(nested, null, Arrays.asList(nested, 2.5), "s"));
+        params.put("empty", new ArrayList<>());
+        assertSignsLikeLegacy(params, "top-level list of maps");
+    }
+
+    @Test
+    void matchesLegacyForMapsNestedInLists() throws Exception {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("z", 1);
+        inner.put("a", Arrays.asList(new TreeMap<>(Map.of("y", "1", "x", "2")), null));
+        Map<String, Object> data = new HashMap<>();
+        data.put("items", Arrays.asList(inner, Arrays.asList(inner, new HashMap<>()), null));
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", data);
+        params.put("nonce", "n");
+        assertSignsLikeLegacy(params, "maps nested in lists");
+    }
+
+    @Test
+    void matchesLegacyForNullValues() throws Exception {
+        Map<String, Object> data = new HashMap<>();
+        data.put("missing", null);
+        data.put("list", Arrays.asList(null, null));
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("inner", null);
+        data.put("map", inner);
+        Map<String, Object> params = new HashMap<>();
+        params.put("data", data);
+        params.put("nonce", null);
+        params.put("timestamp", 1753451591L);
+        assertSignsLikeLegacy(params, "null values");
+
+        Map<String, Object> nullData = new HashMap<>();
+        nullData.put("data", null);
+        assertSignsLikeLegacy(nullData, "null data");
+    }
+
+    @Test
+    void matchesLegacyForLoneSurrogates() throws Exception {
+        String[] values = {"\ud800", "a\udc00b", "\udc00\ud800", "😀\ud83d", "\ud83d"};
+        for (String value : values) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(value, value);
+            data.put("list", Arrays.asList(value, value + "x"));
+            Map<String, Object> params = new HashMap<>();
+            params.put("data", data);
+            params.put("nonce", value);
+            params.put("list", Arrays.asList(value));
+            assertSignsLikeLegacy(params, "surrogates " + Arrays.toString(value.chars().toArray()));
+        }
+    }
+
+    @Test
+    void signsBeansLikeTheirMapForm() throws Exception {
+        assertFalse(SignatureUtil.prepareSignatureData(PayoutRequest.builder().build()) instanceof Map);
+        assertInstanceOf(Map.class, SignatureUtil.prepareSignatureData(new SignedRequest()));
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Object request = randomRequest(random);
+            Object view = SignatureUtil.prepareSignatureData(request);
+            assertInstanceOf(BeanView.class, view);
+            Map<String, Object> asMap = SignatureUtil.convertDataToMap(request);
+
+            Map<String, Object> direct = new HashMap<>();
+            direct.put("data", view);
+            direct.put("nonce", "n" + i);
+            direct.put("timestamp", 1753451591L + i);
+            Map<String, Object> legacy = new HashMap<>(direct);
+            legacy.put("data", asMap);
+            assertSignsLike(direct, legacy, "bean " + request);
+
+            // Views nested in maps and collections, and in a top-level collection
+            Map<String, Object> wrapper = new HashMap<>();
+            wrapper.put("request", view);
+            wrapper.put("requests", Arrays.asList(view, null));
+            direct.put("data", wrapper);
+            direct.put("list", Arrays.asList(view));
+            Map<String, Object> legacyWrapper = new HashMap<>();
+            legacyWrapper.put("request", asMap);
+            legacyWrapper.put("requests", Arrays.asList(asMap, null));
+            legacy.put("data", legacyWrapper);
+            legacy.put("list", Arrays.asList(asMap));
+            assertSignsLike(direct, legacy, "nested bean " + request);
+        }
+    }
+
+    @Test
+    void signsJsonTreesLikeTheirMapForm() throws Exception {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Map<String, Object> body = randomMap(random, 0);
+            body.put("list", randomList(random, 1));
+            String json = MAPPER.writeValueAsString(body);
+
+            Map<String, Object> tree = new HashMap<>();
+            tree.put("data", MAPPER.readTree(json));
+            tree.put("nonce", "n" + i);
+            tree.put("notifyType", "ORDER_SUCCESS");
+            tree.put("timestamp", 1753451591L + i);
+            tree.put("list", MAPPER.readTree(MAPPER.writeValueAsString(randomList(random, 1))));
+            Map<String, Object> legacy = new HashMap<>(tree);
+            legacy.put("data", MAPPER.readValue(json, Map.class));
+            legacy.put("list", MAPPER.treeToValue((JsonNode) tree.get("list"), List.class));
+            assertSignsLike(tree, legacy, json);
+        }
+    }
+
+    /**
+     * Assert that params sign exactly as the legacy implementation signs them
+     * @return The signature
+     */
+    private static String assertSignsLikeLegacy(Map<String, Object> params, String context) throws Exception {
+        return assertSignsLike(params, params, context);
+    }
+
+    /**
+     * Assert that params sign exactly as the legacy implementation signs an equivalent plain form
+     * @return The signature
+     */
+    private static String assertSignsLike(Map<String, Object> params, Map<String, Object> legacyParams,
+                                          String context) throws Exception {
+        byte[] expected = legacySignatureString(legacyParams).getBytes(StandardCharsets.UTF_8);
+        String message = "seed " + SEED + ", " + context;
+        assertArrayEquals(expected, SignatureUtil.canonicalBytes(params),
+                () -> message + "\nexpected: " + new String(expected, StandardCharsets.UTF_8)
+                        + "\nactual:   " + new String(SignatureUtil.canonicalBytes(params), StandardCharsets.UTF_8));
+        String signature = legacyHmacSha256(expected, SECRET);
+        assertEquals(signature, SignatureUtil.generateSignature(params, SECRET), message);
+        assertEquals(signature, SignatureUtil.generateSignature(params, new HmacSigner(SECRET)), message);
+        return signature;
+    }
+
+    private static Object randomRequest(Random random) {
+        if (random.nextBoolean()) {
+            return PayoutRequest.builder()
+                    .amount(random.nextBoolean() ? null : random.nextDouble() * 1000)
+                    .symbol(randomString(random))
+                    .chain(random.nextBoolean() ? null : randomString(random))
+                    .orderId(random.nextBoolean() ? null : randomString(random))
+                    .uid(randomString(random))
+                    .receiveAddress(randomString(random))
+                    .build();
+        }
+        return CollectionRequest.builder()
+                .amount(random.nextBoolean() ? null : (double) random.nextInt(100000))
+                .symbol(randomString(random))
+                .chain(randomString(random))
+                .orderId(random.nextBoolean() ? null : randomString(random))
+                .uid(random.nextBoolean() ? null : randomString(random))
+                .build();
+    }
+
+    private static Map<String, Object> randomMap(Random random, int depth) {
+        Map<String, Object> map = random.nextBoolean() ? new HashMap<>() : new LinkedHashMap<>();
+        int size = random.nextInt(6);
+        for (int i = 0; i < size; i++) {
+            map.put(KEYS[random.nextInt(KEYS.length)], randomValue(random, depth + 1));
+        }
+        return map;
+    }
+
+    private static List<Object> randomList(Random random, int depth) {
+        List<Object> list = new ArrayList<>();
+        int size = random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            list.add(randomValue(random, depth + 1));
+        }
+        return list;
+    }
+
+    private static Object randomValue(Random random, int depth) {
+        int choice = random.nextInt(depth < 4 ? 10 : 7);
+        switch (choice) {
+            case 0: return null;
+            case 1: return random.nextInt();
+            case 2: return random.nextLong();
+            case 3: return random.nextDouble() * 1000;
+            case 4: return random.nextBoolean();
+            case 5:
+            case 6: return randomString(random);
+            case 7:
+            case 8: return randomMap(random, depth);
+            default: return randomList(random, depth);
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                sb.append((char) (0x80 + random.nextInt(0x780)));
+            } else if (kind == 1) {
+                sb.append((char) (0x800 + random.nextInt(0xd000)));
+            } else if (kind == 2) {
+                sb.appendCodePoint(0x10000 + random.nextInt(0x1000));
+            } else if (kind == 3) {
+                sb.append((char) (0xd800 + random.nextInt(0x800)));
+            } else {
+                sb.append((char) (0x20 + random.nextInt(0x5f)));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Original TreeMap/Stream implementation, kept as the reference for the canonical writer
+
+    private static String legacySignatureString(Map<String, Object> params) {
+        return legacySortMapRecursively(params).entrySet().stream()
+            .map(entry -> legacyFormatParameter(entry.getKey(), entry.getValue()))
+            .collect(Collectors.joining("&"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> legacySortMapRecursively(Map<String, Object> map) {
+        Map<String, Object> sortedMap = new TreeMap<>();
+        map.forEach((key, value) -> {
+            if (value instanceof Map) {
+                sortedMap.put(key, legacySortMapRecursively((Map<String, Object>) value));
+            } else if (value instanceof Collection) {
+                List<Object> sortedList = ((Collection<?>) value).stream()
+                    .map(item -> item instanceof Map ?
+                        legacySortMapRecursively((Map<String, Object>) item) : item)
+                    .collect(Collectors.toList());
+                sortedMap.put(key, sortedList);
+            } else {
+                sortedMap.put(key, value);
+            }
+        });
+        return sortedMap;
+    }
+
+    private static String legacyFormatParameter(String key, Object value) {
+        if (value == null) {
+            return key + "=";
+        }
+        return key + "=" + (value instanceof Map ? "{" + legacyFormatMap((Map<?, ?>) value) + "}" : value);
+    }
+
+    private static String legacyFormatMap(Map<?, ?> map) {
+        return map.entrySet().stream()
+            .sorted(Comparator.comparing(e -> String.valueOf(e.getKey())))
+            .map(e -> {
+                Object value = e.getValue();
+                if (value instanceof Map) {
+                    return e.getKey() + "={" + legacyFormatMap((Map<?, ?>) value) + "}";
+                } else if (value instanceof Collection) {
+                    return e.getKey() + "=[" + legacyFormatCollection((Collection<?>) value) + "]";
+                } else {
+                    return e.getKey() + "=" + value;
+                }
+            })
+            .collect(Collectors.joining(","));
+    }
+
+    private static String legacyFormatCollection(Collection<?> collection) {
+        return collection.stream()
+            .map(item -> item instanceof Map ? "{" + legacyFormatMap((Map<?, ?>) item) + "}" : String.valueOf(item))
+            .collect(Collectors.joining(","));
+    }
+
+    private static String legacyHmacSha256(byte[] data, String key) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : mac.doFinal(data)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
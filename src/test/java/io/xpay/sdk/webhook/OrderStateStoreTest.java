@@ -0,0 +1,117 @@
+package io.xpay.sdk.webhook;
+
+import io.xpay.sdk.model.OrderStatus;
+import io.xpay.sdk.model.response.ApiResponse;
+import io.xpay.sdk.model.response.OrderDetails;
+import io.xpay.sdk.model.webhook.OrderWebhookData;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OrderStateStoreTest {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void ignoresRegressionToAnEarlierState() {
+        OrderStateStore store = new OrderStateStore(10, HOUR);
+        store.update(response("o1", OrderStatus.PENDING_CONFIRMATION, null));
+        store.update(webhook("o1", OrderStatus.PENDING, null), now());
+        assertEquals(OrderStatus.PENDING_CONFIRMATION, status(store, "o1"));
+
+        store.update(webhook("o1", OrderStatus.SUCCESS, null), now());
+        store.update(webhook("o1", OrderStatus.PENDING_CONFIRMATION, null), now());
+        store.update(response("o1", OrderStatus.FAILED, null));
+        assertEquals(OrderStatus.SUCCESS, status(store, "o1"), "terminal state is final");
+    }
+
+    @Test
+    void ignoresOlderUpdateInTheSameState() {
+        OrderStateStore store = new OrderStateStore(10, HOUR);
+        store.update(webhook("o1", OrderStatus.PENDING, "second"), now() - 100);
+        store.update(webhook("o1", OrderStatus.PENDING, "first"), now() - 200);
+        assertEquals("second", store.lookup("o1").getData().getReason());
+
+        store.update(webhook("o1", OrderStatus.PENDING, "third"), now() - 50);
+        assertEquals("third", store.lookup("o1").getData().getReason());
+    }
+
+    @Test
+    void servesPendingStateOnlyUntilMaximumAge() {
+        OrderStateStore store = new OrderStateStore(10, TimeUnit.MINUTES.toMillis(1));
+        store.update(webhook("pending", OrderStatus.PENDING, null), now() - 120);
+        store.update(webhook("done", OrderStatus.EXPIRED, null), now() - 120);
+        store.update(webhook("live", OrderStatus.PENDING, null), now());
+
+        assertNull(store.lookup("pending"));
+        assertEquals(OrderStatus.EXPIRED, status(store, "done"));
+        assertEquals(OrderStatus.PENDING, status(store, "live"));
+        assertNull(store.lookup("unknown"));
+        assertNull(store.lookup(null));
+    }
+
+    @Test
+    void evictsTerminalOrdersBeforePendingOnes() {
+        OrderStateStore store = new OrderStateStore(3, HOUR);
+        store.update(webhook("p1", OrderStatus.PENDING, null), now());
+        store.update(webhook("t1", OrderStatus.SUCCESS, null), now());
+        store.update(webhook("p2", OrderStatus.PENDING, null), now());
+        store.update(webhook("p3", OrderStatus.PENDING, null), now());
+
+        assertEquals(3, store.size());
+        assertNull(store.lookup("t1"));
+        assertNotNull(store.lookup("p1"));
+
+        // With no terminal order left, the oldest pending one goes
+        store.update(webhook("p4", OrderStatus.PENDING, null), now());
+        assertEquals(3, store.size());
+        assertNull(store.lookup("p1"));
+        assertNotNull(store.lookup("p2"));
+    }
+
+    @Test
+    void evictsOrderThatBecameTerminalBeforeOlderPendingOnes() {
+        OrderStateStore store = new OrderStateStore(2, HOUR);
+        store.update(webhook("o1", OrderStatus.PENDING, null), now());
+        store.update(webhook("o2", OrderStatus.PENDING, null), now());
+        store.update(webhook("o2", OrderStatus.SUCCESS, null), now());
+        store.update(webhook("o3", OrderStatus.PENDING, null), now());
+
+        assertNull(store.lookup("o2"));
+        assertNotNull(store.lookup("o1"));
+        assertNotNull(store.lookup("o3"));
+    }
+
+    @Test
+    void appliesOnlySuccessfulStatusResponses() {
+        OrderStateStore store = new OrderStateStore(10, HOUR);
+        store.update(webhook("o1", OrderStatus.PENDING, null), now());
+        store.update(new ApiResponse<>(0, "ok", new OrderDetails("o2", "COLLECTION", OrderStatus.PENDING, null, null)));
+        store.update(new ApiResponse<>(500, "Error", new OrderDetails("o1", "COLLECTION", OrderStatus.FAILED, null, null)));
+
+        assertNull(store.lookup("o2"));
+        ApiResponse<OrderDetails> response = store.lookup("o1");
+        assertEquals(200, response.getCode());
+        assertEquals("Success", response.getMsg());
+        assertEquals(OrderStatus.PENDING, response.getData().getStatus());
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static OrderWebhookData webhook(String orderId, OrderStatus status, String reason) {
+        return new OrderWebhookData(orderId, "COLLECTION", status, reason, null);
+    }
+
+    private static ApiResponse<OrderDetails> response(String orderId, OrderStatus status, String reason) {
+        return new ApiResponse<>(200, "Success", new OrderDetails(orderId, "COLLECTION", status, reason, null));
+    }
+
+    private static OrderStatus status(OrderStateStore store, String orderId) {
+        return store.lookup(orderId).getData().getStatus();
+    }
+}
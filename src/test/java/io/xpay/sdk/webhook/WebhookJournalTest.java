@@ -0,0 +1,241 @@
+package io.xpay.sdk.webhook;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WebhookJournalTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int BODY_SIZE = 200;
+    private static final int RECORD_SIZE = 8 + 24 + BODY_SIZE;
+    private static final int RECORDS_PER_SEGMENT = SEGMENT_SIZE / RECORD_SIZE;
+    private static final int COUNT = 2 * RECORDS_PER_SEGMENT + 6;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordAfterReopen() throws IOException {
+        writeRecords(COUNT);
+        assertEquals(3, segments().size());
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(COUNT, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(COUNT + 1, journal.replay(1, entries::add));
+            assertSequences(1, COUNT, entries);
+            assertNull(entries.get(0).getSignature());
+        }
+    }
+
+    @Test
+    void keepsSequenceNumbersAcrossRollsAndReopens() throws IOException {
+        int perSession = RECORDS_PER_SEGMENT + 3;
+        for (int session = 0; session < 3; session++) {
+            try (WebhookJournal journal = open()) {
+                assertEquals((long) session * perSession, journal.lastSequence());
+                for (int i = 1; i <= perSession; i++) {
+                    long sequence = (long) session * perSession + i;
+                    assertEquals(sequence, journal.append(body(sequence), null, null));
+                }
+            }
+        }
+
+        // Every segment is named after its first record, and the names follow the sequence
+        List<Path> files = segments();
+        assertEquals(List.of(1L, 18L, 35L, 52L), files.stream()
+                .map(path -> Long.parseLong(path.getFileName().toString().replace(".journal", "")))
+                .collect(Collectors.toList()));
+        try (WebhookJournal journal = open()) {
+            assertEquals(3L * perSession, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(3L * perSession + 1, journal.replay(1, entries::add));
+            assertSequences(1, 3L * perSession, entries);
+        }
+    }
+
+    @Test
+    void keepsRecordLargerThanASegment() throws IOException {
+        byte[] large = new byte[2 * SEGMENT_SIZE];
+        Arrays.fill(large, (byte) 'x');
+        try (WebhookJournal journal = open()) {
+            assertEquals(1, journal.append(body(1), null, null));
+            assertEquals(2, journal.append(large, null, null));
+            assertEquals(3, journal.append(body(3), null, null));
+        }
+        assertEquals(3, segments().size());
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(3, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(1, entries::add);
+            assertEquals(3, entries.size());
+            assertArrayEquals(large, entries.get(1).getBody());
+            assertEquals(3, entries.get(2).getSequence());
+        }
+    }
+
+    @Test
+    void replayStartsMidSegmentAndCrossesSegmentBoundaries() throws IOException {
+        writeRecords(COUNT);
+
+        try (WebhookJournal journal = open()) {
+            long from = RECORDS_PER_SEGMENT - 2;
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(COUNT + 1, journal.replay(from, entries::add));
+            assertSequences(from, COUNT, entries);
+
+            entries.clear();
+            assertEquals(COUNT + 1, journal.replay(COUNT + 1, entries::add));
+            assertEquals(0, entries.size());
+        }
+    }
+
+    @Test
+    void keepsSignatureAndTimestamp() throws IOException {
+        try (WebhookJournal journal = open()) {
+            assertEquals(1, journal.append(body(1), "sig", "1700000000"));
+        }
+        try (WebhookJournal journal = open()) {
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(1, entries::add);
+            assertEquals(1, entries.size());
+            assertEquals("sig", entries.get(0).getSignature());
+            assertEquals("1700000000", entries.get(0).getTimestamp());
+            assertArrayEquals(body(1), entries.get(0).getBody());
+        }
+    }
+
+    @Test
+    void discardsTornTailAndContinuesTheSequence() throws IOException {
+        writeRecords(COUNT);
+        Path last = segments().get(2);
+        int lastInSegment = COUNT - 2 * RECORDS_PER_SEGMENT;
+        tearAt(last, (long) (lastInSegment - 1) * RECORD_SIZE + RECORD_SIZE / 2);
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(COUNT - 1, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(COUNT, journal.replay(1, entries::add));
+            assertSequences(1, COUNT - 1, entries);
+
+            assertEquals(COUNT, journal.append(body(COUNT), null, null));
+        }
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(COUNT, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(1, entries::add);
+            assertSequences(1, COUNT, entries);
+        }
+    }
+
+    @Test
+    void discardsCorruptTail() throws IOException {
+        writeRecords(COUNT);
+        Path last = segments().get(2);
+        int lastInSegment = COUNT - 2 * RECORDS_PER_SEGMENT;
+        long corruptAt = (long) (lastInSegment - 2) * RECORD_SIZE + RECORD_SIZE - 1;
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, corruptAt);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0xFF));
+            buffer.rewind();
+            channel.write(buffer, corruptAt);
+        }
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(COUNT - 2, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(COUNT - 1, journal.replay(RECORDS_PER_SEGMENT, entries::add));
+            assertSequences(RECORDS_PER_SEGMENT, COUNT - 2, entries);
+        }
+    }
+
+    @Test
+    void recoversWhenTheWholeLastSegmentIsTorn() throws IOException {
+        writeRecords(COUNT);
+        tearAt(segments().get(2), RECORD_SIZE / 2);
+
+        try (WebhookJournal journal = open()) {
+            long sealedLast = 2L * RECORDS_PER_SEGMENT;
+            assertEquals(sealedLast, journal.lastSequence());
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(sealedLast + 1, journal.replay(RECORDS_PER_SEGMENT - 1, entries::add));
+            assertSequences(RECORDS_PER_SEGMENT - 1, sealedLast, entries);
+        }
+    }
+
+    @Test
+    void deletesOnlyFullyProcessedSegments() throws IOException {
+        writeRecords(COUNT);
+
+        try (WebhookJournal journal = open()) {
+            assertEquals(0, journal.deleteBefore(RECORDS_PER_SEGMENT));
+            assertEquals(1, journal.deleteBefore(RECORDS_PER_SEGMENT + 1));
+            assertEquals(2, segments().size());
+
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(COUNT + 1, journal.replay(1, entries::add));
+            assertSequences(RECORDS_PER_SEGMENT + 1, COUNT, entries);
+        }
+    }
+
+    private WebhookJournal open() throws IOException {
+        return WebhookJournal.builder().directory(directory).segmentSize(SEGMENT_SIZE).build();
+    }
+
+    private void writeRecords(int count) throws IOException {
+        try (WebhookJournal journal = open()) {
+            for (int i = 1; i <= count; i++) {
+                assertEquals(i, journal.append(body(i), null, null));
+            }
+        }
+    }
+
+    private static void tearAt(Path segment, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] body(long sequence) {
+        // Non-zero padding, so a record cut short and zero-filled on reopen no longer matches its CRC
+        byte[] body = new byte[BODY_SIZE];
+        Arrays.fill(body, (byte) ' ');
+        byte[] text = ("{\"event\":" + sequence + "}").getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text, 0, body, 0, text.length);
+        return body;
+    }
+
+    private static void assertSequences(long first, long last, List<JournalEntry> entries) {
+        assertEquals(last - first + 1, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            JournalEntry entry = entries.get(i);
+            assertEquals(first + i, entry.getSequence());
+            assertArrayEquals(body(first + i), entry.getBody());
+        }
+    }
+}